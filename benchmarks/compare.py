@@ -0,0 +1,111 @@
+#!/usr/bin/env python3
+"""Compare JMH results against a baseline and fail on regressions.
+
+Both files are JMH JSON reports (java -jar target/benchmarks.jar -rf json -rff
+results.json). A benchmark regresses when its score is worse than the baseline
+by more than the threshold and the difference is larger than the two error
+margins combined, so noise within the reported confidence interval never fails
+the build. Throughput scores are better when higher, time scores when lower.
+
+An empty baseline compares nothing, so it is bad input unless --update is
+recording the first one.
+
+Exit status: 0 when nothing regressed, 1 on a regression, 2 on bad input.
+
+    python3 compare.py baseline.json results.json [--threshold 10]
+    python3 compare.py baseline.json results.json --update
+"""
+
+import argparse
+import json
+import math
+import shutil
+import sys
+
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def key(result):
+    params = result.get("params") or {}
+    if not params:
+        return result["benchmark"]
+    return "%s(%s)" % (result["benchmark"], ", ".join("%s=%s" % item for item in sorted(params.items())))
+
+
+def load(path):
+    try:
+        with open(path, encoding="utf-8") as file:
+            return {key(result): result for result in json.load(file)}
+    except (OSError, ValueError, KeyError) as e:
+        print("cannot read %s: %s" % (path, e), file=sys.stderr)
+        sys.exit(2)
+
+
+def error_of(metric):
+    error = metric.get("scoreError")
+    try:
+        error = float(error)
+    except (TypeError, ValueError):
+        return 0.0
+    return 0.0 if math.isnan(error) else error
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__.splitlines()[0])
+    parser.add_argument("baseline", help="JMH JSON report to compare against")
+    parser.add_argument("results", help="JMH JSON report of the current run")
+    parser.add_argument("--threshold", type=float, default=10.0,
+                        help="largest tolerated slowdown in percent (default 10)")
+    parser.add_argument("--update", action="store_true",
+                        help="replace the baseline with the results after comparing")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    results = load(args.results)
+    if not baseline and not args.update:
+        print("%s has no benchmarks; record one on this machine with --update" % args.baseline, file=sys.stderr)
+        return 2
+    if not results:
+        print("%s has no benchmarks" % args.results, file=sys.stderr)
+        return 2
+    regressions = 0
+
+    print("%-90s %14s %14s %9s  %s" % ("Benchmark", "Baseline", "Current", "Change", "Unit"))
+    for name in sorted(results):
+        current = results[name]["primaryMetric"]
+        unit = current["scoreUnit"]
+        if name not in baseline:
+            print("%-90s %14s %14.3f %9s  %s  new" % (name, "-", current["score"], "", unit))
+            continue
+
+        base = baseline[name]["primaryMetric"]
+        if base["scoreUnit"] != unit:
+            print("%-90s unit changed from %s to %s" % (name, base["scoreUnit"], unit), file=sys.stderr)
+            sys.exit(2)
+
+        # Positive change is an improvement whichever way the mode counts
+        difference = current["score"] - base["score"]
+        if results[name]["mode"] not in HIGHER_IS_BETTER:
+            difference = -difference
+        change = 100.0 * difference / base["score"] if base["score"] else 0.0
+        regressed = change < -args.threshold and abs(difference) > error_of(base) + error_of(current)
+        regressions += regressed
+
+        print("%-90s %14.3f %14.3f %+8.1f%%  %s%s" % (name, base["score"], current["score"], change, unit,
+                                                     "  REGRESSION" if regressed else ""))
+
+    for name in sorted(set(baseline) - set(results)):
+        print("%-90s not run" % name)
+
+    if args.update:
+        shutil.copyfile(args.results, args.baseline)
+        print("Baseline %s updated from %s" % (args.baseline, args.results))
+
+    if regressions:
+        print("%d benchmark(s) regressed by more than %.1f%%" % (regressions, args.threshold), file=sys.stderr)
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
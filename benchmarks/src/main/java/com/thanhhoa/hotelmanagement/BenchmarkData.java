@@ -0,0 +1,128 @@
+package com.thanhhoa.hotelmanagement;
+
+import com.thanhhoa.hotelmanagement.entity.Guest;
+import com.thanhhoa.hotelmanagement.entity.Reservation;
+import com.thanhhoa.hotelmanagement.entity.ReservationRoom;
+import com.thanhhoa.hotelmanagement.entity.ReservationService;
+import com.thanhhoa.hotelmanagement.entity.ReservationStatus;
+import com.thanhhoa.hotelmanagement.entity.Room;
+import com.thanhhoa.hotelmanagement.entity.RoomImage;
+import com.thanhhoa.hotelmanagement.entity.RoomStatus;
+import com.thanhhoa.hotelmanagement.entity.RoomType;
+import com.thanhhoa.hotelmanagement.entity.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Detached entity graphs shaped like the ones the services load, without a
+ * database. Values are fixed so every run maps and serializes the same bytes.
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private BenchmarkData() {
+    }
+
+    public static List<Room> rooms(int count, int imagesPerRoom) {
+        List<RoomType> roomTypes = List.of(
+                roomType(1L, "Standard", "120.00"),
+                roomType(2L, "Deluxe", "180.00"),
+                roomType(3L, "Suite", "320.00"));
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = i + 1L;
+            Room room = Room.builder()
+                    .id(id)
+                    .roomNumber(String.valueOf(100 * (i / 40 + 1) + i % 40))
+                    .roomType(roomTypes.get(i % roomTypes.size()))
+                    .roomStatus(RoomStatus.AVAILABLE)
+                    .floor(i / 40 + 1)
+                    .note("Non-smoking, city view")
+                    .images(new ArrayList<>())
+                    .reservationRooms(new ArrayList<>())
+                    .build();
+            for (int j = 0; j < imagesPerRoom; j++) {
+                room.getImages().add(RoomImage.builder()
+                        .id(id * 10 + j)
+                        .room(room)
+                        .imageUrl("https://images.example.com/rooms/" + id + "/" + j + ".jpg")
+                        .description("Room " + room.getRoomNumber() + " photo " + (j + 1))
+                        .isPrimary(j == 0)
+                        .displayOrder(j)
+                        .createdAt(CREATED_AT)
+                        .build());
+            }
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    /**
+     * A reservation with {@code roomCount} rooms, each with {@code imagesPerRoom}
+     * images, and {@code serviceCount} ordered services: the graph the detail
+     * entity graph fetches.
+     */
+    public static Reservation reservation(long id, int roomCount, int imagesPerRoom, int serviceCount) {
+        LocalDate checkIn = LocalDate.of(2025, 3, 10);
+        Reservation reservation = Reservation.builder()
+                .id(id)
+                .guest(Guest.builder()
+                        .id(id)
+                        .fullName("Guest " + id)
+                        .email("guest" + id + "@example.com")
+                        .keycloakUserId(new UUID(0L, id))
+                        .createdAt(CREATED_AT)
+                        .updatedAt(CREATED_AT)
+                        .build())
+                .status(ReservationStatus.CONFIRMED)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(3))
+                .totalAmount(new BigDecimal("1260.00"))
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .reservationRooms(new ArrayList<>())
+                .reservationStaff(new ArrayList<>())
+                .reservationServices(new ArrayList<>())
+                .payments(new ArrayList<>())
+                .invoices(new ArrayList<>())
+                .build();
+        for (Room room : rooms(roomCount, imagesPerRoom)) {
+            reservation.getReservationRooms().add(ReservationRoom.builder()
+                    .reservation(reservation)
+                    .room(room)
+                    .build());
+        }
+        for (int i = 0; i < serviceCount; i++) {
+            Service service = Service.builder()
+                    .id(i + 1L)
+                    .name("Service " + (i + 1))
+                    .description("Breakfast, laundry or spa")
+                    .price(new BigDecimal("25.00"))
+                    .build();
+            reservation.getReservationServices().add(ReservationService.builder()
+                    .id(id * 100 + i)
+                    .reservation(reservation)
+                    .service(service)
+                    .quantity(1)
+                    .totalPrice(service.getPrice())
+                    .build());
+        }
+        return reservation;
+    }
+
+    private static RoomType roomType(Long id, String name, String price) {
+        return RoomType.builder()
+                .id(id)
+                .name(name)
+                .description(name + " room")
+                .pricePerNight(new BigDecimal(price))
+                .rooms(new ArrayList<>())
+                .build();
+    }
+}
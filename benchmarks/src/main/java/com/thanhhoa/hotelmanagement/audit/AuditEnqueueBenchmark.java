@@ -0,0 +1,80 @@
+package com.thanhhoa.hotelmanagement.audit;
+
+import com.thanhhoa.hotelmanagement.BenchmarkData;
+import com.thanhhoa.hotelmanagement.dto.response.ReservationResponse;
+import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The work an audited call does on the request thread: resolving the entity id
+ * from the result with {@link EntityIdResolver}, building the
+ * {@link AuditEvent} and handing it to the {@link AuditRingBuffer} that
+ * {@link AuditLogWriter} drains. The {@code enqueue} group runs three
+ * producers against one consumer, the same shape as request threads feeding
+ * the single writer thread. {@link EntityIdResolverBenchmark} times the id
+ * resolution on its own.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditEnqueueBenchmark {
+
+    private static final UUID USER_ID = new UUID(0L, 42L);
+
+    private final EntityIdResolver resolver = new EntityIdResolver();
+    private final AuditRingBuffer buffer = new AuditRingBuffer(8192);
+    private Auditable auditable;
+    private ReservationResponse result;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        auditable = AuditEnqueueBenchmark.class.getDeclaredMethod("audited").getAnnotation(Auditable.class);
+        result = new EntityMapper().toResponse(BenchmarkData.reservation(7L, 2, 1, 2));
+    }
+
+    @Benchmark
+    @Group("enqueue")
+    @GroupThreads(3)
+    public boolean submit() {
+        return buffer.offer(new AuditEvent(USER_ID, "ROLE_STAFF", auditable.action(), auditable.entity(),
+                resolver.resolve(null, auditable, result), "Operation completed successfully", "SUCCESS",
+                "10.0.0.1", LocalDateTime.now()));
+    }
+
+    @Benchmark
+    @Group("enqueue")
+    @GroupThreads(1)
+    public int drain(DrainState state) {
+        state.batch.clear();
+        return buffer.drainTo(state.batch, 200);
+    }
+
+    @State(Scope.Thread)
+    public static class DrainState {
+        final List<AuditEvent> batch = new ArrayList<>(200);
+    }
+
+    @Auditable(action = "CREATE", entity = "RESERVATION")
+    private void audited() {
+    }
+}
@@ -0,0 +1,50 @@
+package com.thanhhoa.hotelmanagement.audit;
+
+import com.thanhhoa.hotelmanagement.BenchmarkData;
+import com.thanhhoa.hotelmanagement.dto.response.ReservationResponse;
+import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the audited entity id from a service result, the first step of
+ * every audited call; {@link AuditEnqueueBenchmark} includes it in the
+ * producers' work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityIdResolverBenchmark {
+
+    private final EntityIdResolver resolver = new EntityIdResolver();
+    private Auditable auditable;
+    private ReservationResponse result;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        auditable = EntityIdResolverBenchmark.class.getDeclaredMethod("audited").getAnnotation(Auditable.class);
+        result = new EntityMapper().toResponse(BenchmarkData.reservation(7L, 2, 1, 2));
+    }
+
+    @Benchmark
+    public Long resolveEntityId() {
+        return resolver.resolve(null, auditable, result);
+    }
+
+    @Auditable(action = "CREATE", entity = "RESERVATION")
+    private void audited() {
+    }
+}
@@ -0,0 +1,110 @@
+package com.thanhhoa.hotelmanagement.availability;
+
+import com.thanhhoa.hotelmanagement.repository.ReservationRoomRepository;
+import com.thanhhoa.hotelmanagement.repository.RoomRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Date-range availability answered by {@link RoomAvailabilityIndex}, the path
+ * {@code GET /api/rooms/available?checkIn=&checkOut=} takes before falling back
+ * to {@code RoomRepository.findAvailableRooms}. Each room is booked for one to
+ * four nights at a time, a few days apart, over the next 90 days: about a
+ * third of the nights are taken, so roughly half the rooms are free for three
+ * nights and almost none for fourteen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomAvailabilityIndexBenchmark {
+
+    @Param({ "500", "5000", "50000" })
+    public int rooms;
+
+    private RoomAvailabilityIndex index;
+    private LocalDate checkIn;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        LocalDate today = LocalDate.now();
+        List<Long> roomIds = LongStream.rangeClosed(1, rooms).boxed().toList();
+        SplittableRandom random = new SplittableRandom(42);
+        List<RoomOccupancy> occupancies = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            LocalDate night = today.plusDays(random.nextInt(10));
+            while (night.isBefore(today.plusDays(90))) {
+                LocalDate checkOut = night.plusDays(1 + random.nextInt(4));
+                occupancies.add(new RoomOccupancy(roomId, night, checkOut));
+                night = checkOut.plusDays(1 + random.nextInt(10));
+            }
+        }
+
+        index = new RoomAvailabilityIndex(
+                repository(RoomRepository.class, "findAllIds", roomIds),
+                repository(ReservationRoomRepository.class, "findActiveOccupancies", occupancies));
+        set("horizonDays", 730);
+        // Nothing syncs here, so the index must not count as stale during the run
+        set("syncIntervalMs", TimeUnit.DAYS.toMillis(1));
+        index.load();
+        checkIn = today.plusDays(30);
+        if (threeNights().isEmpty()) {
+            throw new IllegalStateException("The index did not answer; the benchmark would time the fallback");
+        }
+    }
+
+    private void set(String field, Object value) throws ReflectiveOperationException {
+        Field declared = RoomAvailabilityIndex.class.getDeclaredField(field);
+        declared.setAccessible(true);
+        declared.set(index, value);
+    }
+
+    @Benchmark
+    public Optional<List<Long>> threeNights() {
+        return index.findAvailableRoomIds(checkIn, checkIn.plusDays(3));
+    }
+
+    @Benchmark
+    public Optional<List<Long>> fourteenNights() {
+        return index.findAvailableRoomIds(checkIn, checkIn.plusDays(14));
+    }
+
+    /** A repository whose {@code method} returns {@code result}; anything else is unsupported. */
+    private static <T> T repository(Class<T> type, String method, Object result) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, invoked, args) -> {
+                    if (invoked.getName().equals(method)) {
+                        return result;
+                    }
+                    if (invoked.getDeclaringClass() == Object.class) {
+                        return switch (invoked.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> type.getSimpleName() + " stub";
+                        };
+                    }
+                    throw new UnsupportedOperationException(invoked.getName());
+                }));
+    }
+}
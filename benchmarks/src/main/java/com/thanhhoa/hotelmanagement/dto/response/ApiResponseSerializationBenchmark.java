@@ -0,0 +1,68 @@
+package com.thanhhoa.hotelmanagement.dto.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.thanhhoa.hotelmanagement.BenchmarkData;
+import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Response bodies as the controllers return them: an {@link ApiResponse}
+ * wrapping a list, written with an {@link ObjectMapper} configured like Spring
+ * Boot's (ISO dates, Java time module).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<RoomResponse>> rooms;
+    private ApiResponse<List<ReservationResponse>> reservations;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        EntityMapper mapper = new EntityMapper();
+        rooms = ApiResponse.success(BenchmarkData.rooms(size, 3).stream()
+                .map(mapper::toResponse)
+                .toList());
+        reservations = ApiResponse.success(LongStream.rangeClosed(1, size)
+                .mapToObj(id -> mapper.toResponse(BenchmarkData.reservation(id, 2, 1, 3)))
+                .toList());
+    }
+
+    @Benchmark
+    public byte[] rooms() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(rooms);
+    }
+
+    @Benchmark
+    public byte[] reservations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservations);
+    }
+}
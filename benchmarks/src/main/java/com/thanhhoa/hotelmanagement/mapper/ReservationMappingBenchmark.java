@@ -0,0 +1,51 @@
+package com.thanhhoa.hotelmanagement.mapper;
+
+import com.thanhhoa.hotelmanagement.BenchmarkData;
+import com.thanhhoa.hotelmanagement.dto.response.ReservationResponse;
+import com.thanhhoa.hotelmanagement.entity.Reservation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EntityMapper#toResponse(Reservation)} over reservation graphs of
+ * growing depth: every room carries its type and images, and every ordered
+ * service its catalog entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationMappingBenchmark {
+
+    @Param({ "1", "5", "20" })
+    public int rooms;
+
+    @Param({ "0", "10" })
+    public int services;
+
+    private final EntityMapper mapper = new EntityMapper();
+    private Reservation reservation;
+
+    @Setup
+    public void setUp() {
+        reservation = BenchmarkData.reservation(1L, rooms, 3, services);
+    }
+
+    @Benchmark
+    public ReservationResponse toResponse() {
+        return mapper.toResponse(reservation);
+    }
+}
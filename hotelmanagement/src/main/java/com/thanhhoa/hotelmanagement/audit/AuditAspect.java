@@ -1,12 +1,11 @@
 package com.thanhhoa.hotelmanagement.audit;
 
-import com.thanhhoa.hotelmanagement.entity.AuditLog;
 import com.thanhhoa.hotelmanagement.entity.AuditStatus;
-import com.thanhhoa.hotelmanagement.repository.AuditLogRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.aspectj.lang.JoinPoint;
@@ -25,7 +24,8 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @Slf4j
 public class AuditAspect {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final EntityIdResolver entityIdResolver;
 
     @AfterReturning(pointcut = "@annotation(auditable)", returning = "result")
     public void auditSuccess(JoinPoint joinPoint, Auditable auditable, Object result) {
@@ -45,46 +45,27 @@ public class AuditAspect {
             String username = authentication != null ? authentication.getName() : "anonymous";
             String ipAddress = getClientIpAddress();
 
-            Long entityId = extractEntityId(result);
+            Long entityId = entityIdResolver.resolve(joinPoint, auditable, result);
 
-            AuditLog auditLog = AuditLog.builder()
-                    .userId(UUID.fromString(username.toString()))
-                    .userRole(authentication.getAuthorities().iterator().next().getAuthority())
-                    .action(auditable.action())
-                    .entity(auditable.entity())
-                    .entityId(entityId)
-                    .description(description)
-                    .status(status.name())
-                    .ipAddress(ipAddress)
-                    .build();
+            AuditEvent event = new AuditEvent(
+                    UUID.fromString(username.toString()),
+                    authentication.getAuthorities().iterator().next().getAuthority(),
+                    auditable.action(),
+                    auditable.entity(),
+                    entityId,
+                    description,
+                    status.name(),
+                    ipAddress,
+                    LocalDateTime.now());
 
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log created: {} {} - {}", auditable.action(), auditable.entity(), status);
+            auditLogWriter.submit(event);
+            log.debug("Audit log queued: {} {} - {}", auditable.action(), auditable.entity(), status);
 
         } catch (Exception e) {
             log.error("Failed to create audit log", e);
         }
     }
 
-    private Long extractEntityId(Object result) {
-        if (result == null) {
-            return null;
-        }
-
-        try {
-            if (result.getClass().getMethod("id") != null) {
-                Object id = result.getClass().getMethod("id").invoke(result);
-                if (id instanceof Long) {
-                    return (Long) id;
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Could not extract entity ID from result", e);
-        }
-
-        return null;
-    }
-
     private String getClientIpAddress() {
         ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
 
@@ -0,0 +1,21 @@
+package com.thanhhoa.hotelmanagement.audit;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An audit record captured on the calling thread and written later by
+ * {@link AuditLogWriter}. The timestamp is taken when the event happens, not
+ * when it reaches the database.
+ */
+public record AuditEvent(
+        UUID userId,
+        String userRole,
+        String action,
+        String entity,
+        Long entityId,
+        String description,
+        String status,
+        String ipAddress,
+        LocalDateTime timestamp) {
+}
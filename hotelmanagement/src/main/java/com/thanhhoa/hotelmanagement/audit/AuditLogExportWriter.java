@@ -0,0 +1,86 @@
+package com.thanhhoa.hotelmanagement.audit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thanhhoa.hotelmanagement.dto.response.AuditLogResponse;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes audit rows one at a time in an export format. Nothing is retained
+ * between rows; closing flushes the buffer but leaves the target stream open.
+ */
+public class AuditLogExportWriter implements Closeable {
+
+    private static final String CSV_HEADER =
+            "id,user_id,user_role,action,entity,entity_id,description,status,ip_address,timestamp";
+
+    private final AuditExportFormat format;
+    private final BufferedWriter writer;
+    private final JsonGenerator json;
+
+    public AuditLogExportWriter(AuditExportFormat format, OutputStream out, ObjectMapper objectMapper)
+            throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == AuditExportFormat.NDJSON) {
+            // Rows are separated by our own newlines; flushes stop at the buffered writer
+            this.json = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                    .setRootValueSeparator(null);
+            this.json.setCodec(objectMapper);
+        } else {
+            this.json = null;
+            writer.write(CSV_HEADER);
+            writer.newLine();
+        }
+    }
+
+    public void write(AuditLogResponse row) throws IOException {
+        if (format == AuditExportFormat.NDJSON) {
+            json.writeObject(row);
+            json.flush();
+        } else {
+            writer.write(String.valueOf(row.id()));
+            writeCsvField(row.userId());
+            writeCsvField(row.userRole());
+            writeCsvField(row.action());
+            writeCsvField(row.entity());
+            writeCsvField(row.entityId());
+            writeCsvField(row.description());
+            writeCsvField(row.status());
+            writeCsvField(row.ipAddress());
+            writeCsvField(row.timestamp());
+        }
+        writer.newLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvField(Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,172 @@
+package com.thanhhoa.hotelmanagement.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly partitions of {@code audit_logs} created by
+ * the {@code V1} migration: keeps partitions ready
+ * {@code premake-months} ahead, and moves partitions older than
+ * {@code retention-months} out of the database into gzipped CSV files.
+ * <p>
+ * Every node schedules this, but a run only proceeds on the node that takes a
+ * session advisory lock; the others skip it. All of a run's statements use the
+ * connection holding the lock, which Postgres releases should the node die.
+ * <p>
+ * An expired partition is detached first so writers and readers of the live
+ * table never wait on the export, then copied out with {@code COPY}, and only
+ * dropped once the file and its directory entry are synced to disk. Nothing is
+ * archived or dropped unless {@code archive-dir} is set to an absolute path,
+ * which must be durable storage shared by all nodes, such as a mounted volume.
+ * A detached table left behind by an interrupted run is picked up on the next one.
+ */
+@Component
+@Slf4j
+public class AuditLogPartitionManager {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_(\\d{4})_(\\d{2})");
+
+    private static final String FIND_PARTITIONS_SQL = "SELECT relname, relispartition FROM pg_class " +
+            "WHERE relkind = 'r' AND relname ~ '^audit_logs_[0-9]{4}_[0-9]{2}$' ORDER BY relname";
+
+    // Arbitrary, shared by every node of the application: "audit" in ASCII
+    static final long MAINTENANCE_LOCK_KEY = 0x6175646974L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final Path archiveDir;
+
+    public AuditLogPartitionManager(JdbcTemplate jdbcTemplate,
+            @Value("${hotel.audit.partitions.premake-months:3}") int premakeMonths,
+            @Value("${hotel.audit.partitions.retention-months:12}") int retentionMonths,
+            @Value("${hotel.audit.partitions.archive-dir:}") String archiveDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.archiveDir = archiveDir.isBlank() ? null : Path.of(archiveDir);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${hotel.audit.partitions.cron:0 15 3 * * *}")
+    public void maintain() {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                maintainLocked(new JdbcTemplate(new SingleConnectionDataSource(connection, true)));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Audit log partition maintenance failed", e);
+        }
+    }
+
+    private void maintainLocked(JdbcTemplate jdbc) {
+        if (!Boolean.TRUE.equals(jdbc.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class,
+                MAINTENANCE_LOCK_KEY))) {
+            log.debug("Audit log partition maintenance is running on another node");
+            return;
+        }
+        try {
+            createUpcomingPartitions(jdbc);
+            if (archiveDir == null || !archiveDir.isAbsolute()) {
+                log.warn("Expired audit log partitions are kept until hotel.audit.partitions.archive-dir is set "
+                        + "to an absolute path on durable storage (now: {})", archiveDir != null ? archiveDir : "unset");
+                return;
+            }
+            archiveExpiredPartitions(jdbc);
+        } finally {
+            jdbc.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, MAINTENANCE_LOCK_KEY);
+        }
+    }
+
+    private void createUpcomingPartitions(JdbcTemplate jdbc) {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= premakeMonths; i++) {
+            LocalDate month = current.plusMonths(i).atDay(1);
+            jdbc.queryForObject("SELECT ensure_audit_log_partition(?)", String.class, month);
+        }
+    }
+
+    private void archiveExpiredPartitions(JdbcTemplate jdbc) {
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        List<PartitionTable> tables = jdbc.query(FIND_PARTITIONS_SQL,
+                (rs, rowNum) -> new PartitionTable(rs.getString("relname"), rs.getBoolean("relispartition")));
+        for (PartitionTable table : tables) {
+            Matcher matcher = PARTITION_NAME.matcher(table.name());
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            try {
+                archive(jdbc, table);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to archive audit log partition {}", table.name(), e);
+            }
+        }
+    }
+
+    // Table names come from pg_class and match PARTITION_NAME, so they are safe to inline
+    private void archive(JdbcTemplate jdbc, PartitionTable table) throws IOException {
+        if (table.attached()) {
+            jdbc.execute("ALTER TABLE audit_logs DETACH PARTITION " + table.name());
+        }
+        Files.createDirectories(archiveDir);
+        Path target = archiveDir.resolve(table.name() + ".csv.gz");
+        Path partial = archiveDir.resolve(table.name() + ".csv.gz.partial");
+        long rows;
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                GZIPOutputStream out = new GZIPOutputStream(Channels.newOutputStream(channel), 64 * 1024)) {
+            rows = jdbc.execute((ConnectionCallback<Long>) connection -> copyOut(
+                    connection.unwrap(PGConnection.class),
+                    "COPY " + table.name() + " TO STDOUT WITH (FORMAT csv, HEADER)", out));
+            out.finish();
+            channel.force(true);
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // The rename is only durable once the directory itself is synced
+        try (FileChannel directory = FileChannel.open(archiveDir, StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+        jdbc.execute("DROP TABLE " + table.name());
+        log.info("Archived {} audit log rows from {} to {}", rows, table.name(), target);
+    }
+
+    private long copyOut(PGConnection connection, String sql, OutputStream out) throws SQLException {
+        try {
+            return connection.getCopyAPI().copyOut(sql, out);
+        } catch (IOException e) {
+            throw new SQLException("Failed to write " + sql, e);
+        }
+    }
+
+    private record PartitionTable(String name, boolean attached) {
+    }
+}
@@ -0,0 +1,301 @@
+package com.thanhhoa.hotelmanagement.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thanhhoa.hotelmanagement.repository.AuditLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes audit events off the request path. Audited calls only enqueue onto a
+ * bounded ring buffer; a single background thread drains it and inserts JDBC
+ * batches of {@code batch-size} rows, or whatever has accumulated once
+ * {@code flush-interval-ms} has passed since the oldest pending event.
+ * <p>
+ * When the buffer is full the configured {@link AuditOverflowPolicy} applies.
+ * Batches that fail to insert and events spilled on overflow go to a local
+ * NDJSON file that is replayed when the writer is idle and again on the next
+ * start. Stopping the context drains the buffer before the data source closes.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter implements SmartLifecycle {
+
+    // Stop after the web server has finished in-flight requests, start before it accepts any
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long REPLAY_RETRY_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+    private final AuditRingBuffer buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final Path spillFile;
+    private final long shutdownTimeoutMillis;
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong spilledEvents = new AtomicLong();
+    // Not a monitor: a virtual thread blocked on file I/O inside synchronized would pin its carrier
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+    private volatile boolean spillPending;
+    private long nextReplayAttempt;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+            ObjectMapper objectMapper,
+            @Value("${hotel.audit.buffer-size:8192}") int bufferSize,
+            @Value("${hotel.audit.batch-size:200}") int batchSize,
+            @Value("${hotel.audit.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${hotel.audit.overflow-policy:SPILL}") AuditOverflowPolicy overflowPolicy,
+            @Value("${hotel.audit.spill-file:audit-spill.ndjson}") Path spillFile,
+            @Value("${hotel.audit.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        this.auditLogRepository = auditLogRepository;
+        this.objectMapper = objectMapper;
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.spillFile = spillFile;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    /**
+     * Queues an event for writing. Never throws; audit problems must not fail the audited call.
+     */
+    public void submit(AuditEvent event) {
+        if (!running) {
+            // Before start or after the final drain: write straight through
+            writeBatch(List.of(event));
+            return;
+        }
+        if (buffer.offer(event)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                while (!buffer.offer(event)) {
+                    if (!running) {
+                        writeBatch(List.of(event));
+                        return;
+                    }
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+            }
+            case DROP -> {
+                long dropped = droppedEvents.incrementAndGet();
+                if (Long.bitCount(dropped) == 1) {
+                    log.warn("Audit buffer full, {} events dropped so far", dropped);
+                }
+            }
+            case SPILL -> spill(List.of(event));
+        }
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    public long getSpilledEvents() {
+        return spilledEvents.get();
+    }
+
+    @Override
+    public void start() {
+        spillPending = Files.exists(spillFile) || Files.exists(replayingFile());
+        nextReplayAttempt = System.nanoTime();
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "audit-log-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+        log.info("Audit log writer started: buffer {}, batch {}, overflow policy {}",
+                buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Audit log writer did not drain within {} ms", shutdownTimeoutMillis);
+        } else {
+            // Events offered while the writer was exiting; it is gone, so this thread is the only consumer
+            List<AuditEvent> rest = new ArrayList<>();
+            buffer.drainTo(rest, Integer.MAX_VALUE);
+            if (!rest.isEmpty()) {
+                writeBatch(rest);
+            }
+        }
+        writerThread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long flushDeadline = 0;
+        while (running || !buffer.isEmpty()) {
+            int drained = buffer.drainTo(batch, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                replaySpillIfDue();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            if (drained == batch.size()) {
+                // First events of a new batch start its flush clock
+                flushDeadline = System.nanoTime() + flushIntervalNanos;
+            }
+            long remaining = flushDeadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                writeBatch(batch);
+                batch.clear();
+            } else if (drained == 0) {
+                LockSupport.parkNanos(Math.min(remaining, IDLE_PARK_NANOS));
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+        log.info("Audit log writer drained and stopped");
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        try {
+            auditLogRepository.insertAll(batch);
+            log.debug("Wrote {} audit events", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} audit events, spilling them to {}", batch.size(), spillFile, e);
+            spill(batch);
+        }
+    }
+
+    private void spill(List<AuditEvent> events) {
+        spillLock.lock();
+        try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AuditEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+            spilledEvents.addAndGet(events.size());
+            spillPending = true;
+        } catch (IOException e) {
+            droppedEvents.addAndGet(events.size());
+            log.error("Failed to spill {} audit events to {}", events.size(), spillFile, e);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    // Writer thread only; the file is moved aside first so concurrent spills start a new one
+    private void replaySpillIfDue() {
+        if (!spillPending || System.nanoTime() - nextReplayAttempt < 0) {
+            return;
+        }
+        Path replaying = replayingFile();
+        List<AuditEvent> events = new ArrayList<>();
+        int written = 0;
+        try {
+            spillLock.lock();
+            try {
+                if (!Files.exists(replaying)) {
+                    if (!Files.exists(spillFile)) {
+                        spillPending = false;
+                        return;
+                    }
+                    Files.move(spillFile, replaying, StandardCopyOption.ATOMIC_MOVE);
+                }
+                spillPending = false;
+            } finally {
+                spillLock.unlock();
+            }
+            for (String line : Files.readAllLines(replaying, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    events.add(objectMapper.readValue(line, AuditEvent.class));
+                }
+            }
+            while (written < events.size()) {
+                List<AuditEvent> chunk = events.subList(written, Math.min(written + batchSize, events.size()));
+                auditLogRepository.insertAll(chunk);
+                written += chunk.size();
+            }
+            Files.delete(replaying);
+            log.info("Replayed {} spilled audit events", events.size());
+        } catch (JsonProcessingException e) {
+            Path corrupt = spillFile.resolveSibling(spillFile.getFileName() + ".corrupt-" + System.currentTimeMillis());
+            log.error("Spilled audit file is unreadable, moving it to {} for inspection", corrupt, e);
+            moveQuietly(replaying, corrupt);
+            spillPending = Files.exists(spillFile);
+        } catch (IOException | RuntimeException e) {
+            // Keep only what is still unwritten; it is retried before any newer spill file
+            spillPending = true;
+            nextReplayAttempt = System.nanoTime() + REPLAY_RETRY_NANOS;
+            log.warn("Could not replay spilled audit events, retrying later", e);
+            if (written > 0) {
+                rewrite(replaying, events.subList(written, events.size()));
+            }
+        }
+    }
+
+    private void rewrite(Path file, List<AuditEvent> events) {
+        try {
+            List<String> lines = new ArrayList<>(events.size());
+            for (AuditEvent event : events) {
+                lines.add(objectMapper.writeValueAsString(event));
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("Failed to rewrite {}; already replayed events may be written twice", file, e);
+        }
+    }
+
+    private void moveQuietly(Path source, Path target) {
+        try {
+            Files.move(source, target);
+        } catch (IOException e) {
+            log.error("Failed to move {} to {}", source, target, e);
+        }
+    }
+
+    private Path replayingFile() {
+        return spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+    }
+}
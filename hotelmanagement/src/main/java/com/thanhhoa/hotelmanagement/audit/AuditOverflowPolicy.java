@@ -0,0 +1,13 @@
+package com.thanhhoa.hotelmanagement.audit;
+
+/**
+ * What {@link AuditLogWriter} does when its buffer is full.
+ */
+public enum AuditOverflowPolicy {
+    /** Wait for the writer to make room; audited calls slow down instead of losing records. */
+    BLOCK,
+    /** Discard the event and count it. */
+    DROP,
+    /** Append the event to the local spill file; the writer replays it once it catches up. */
+    SPILL
+}
@@ -11,4 +11,28 @@ public @interface Auditable {
     String action();
 
     String entity();
+
+    /**
+     * Where the audited entity id comes from. Only {@link IdSource#RESULT} depends
+     * on the method returning, so the others also identify the entity of failed calls.
+     */
+    IdSource idSource() default IdSource.RESULT;
+
+    /** Parameter position read when {@link #idSource()} is {@link IdSource#ARGUMENT}. */
+    int idArgument() default 0;
+
+    /**
+     * SpEL evaluated when {@link #idSource()} is {@link IdSource#EXPRESSION}. Parameters
+     * are available by name, plus {@code #args} and {@code #result} (null on failure).
+     */
+    String idExpression() default "";
+
+    enum IdSource {
+        /** The {@code id()} or {@code getId()} of the returned object. */
+        RESULT,
+        /** The argument at {@link #idArgument()}: a number, or an object exposing an id. */
+        ARGUMENT,
+        /** The value of {@link #idExpression()}. */
+        EXPRESSION
+    }
 }
@@ -0,0 +1,104 @@
+package com.thanhhoa.hotelmanagement.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the entity id recorded for an {@link Auditable} call. The id accessor
+ * of each class is looked up once and kept as a {@link MethodHandle}; classes
+ * without one are remembered as misses, so the steady state does no reflection
+ * and creates no exceptions.
+ */
+@Component
+@Slf4j
+public class EntityIdResolver {
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<MethodHandle> ID_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findIdAccessor(type);
+        }
+    };
+
+    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    public Long resolve(JoinPoint joinPoint, Auditable auditable, Object result) {
+        try {
+            return switch (auditable.idSource()) {
+                case RESULT -> idOf(result);
+                case ARGUMENT -> idOf(joinPoint.getArgs()[auditable.idArgument()]);
+                case EXPRESSION -> toLong(evaluate(joinPoint, auditable.idExpression(), result));
+            };
+        } catch (RuntimeException e) {
+            log.debug("Could not resolve entity id for {} {}", auditable.action(), auditable.entity(), e);
+            return null;
+        }
+    }
+
+    private Object evaluate(JoinPoint joinPoint, String expression, Object result) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                joinPoint.getTarget(), method, joinPoint.getArgs(), parameterNames);
+        context.setVariable("result", result);
+        return expressions.computeIfAbsent(expression, parser::parseExpression).getValue(context);
+    }
+
+    private static Long idOf(Object value) {
+        if (value == null || value instanceof Number) {
+            return toLong(value);
+        }
+        MethodHandle accessor = ID_ACCESSORS.get(value.getClass());
+        if (accessor == null) {
+            return null;
+        }
+        try {
+            return toLong(accessor.invokeExact(value));
+        } catch (Throwable e) {
+            throw new IllegalStateException("id accessor failed on " + value.getClass().getName(), e);
+        }
+    }
+
+    private static Long toLong(Object id) {
+        return id instanceof Number number ? number.longValue() : null;
+    }
+
+    private static MethodHandle findIdAccessor(Class<?> type) {
+        for (String name : new String[] { "id", "getId" }) {
+            try {
+                Method method = type.getMethod(name);
+                if (Number.class.isAssignableFrom(method.getReturnType())
+                        || method.getReturnType() == long.class || method.getReturnType() == int.class) {
+                    if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                        method.setAccessible(true);
+                    }
+                    return MethodHandles.lookup().unreflect(method).asType(ACCESSOR_TYPE);
+                }
+            } catch (NoSuchMethodException ignored) {
+                // try the next naming convention
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.debug("Id accessor {}.{} is not usable", type.getName(), name, e);
+            }
+        }
+        return null;
+    }
+}
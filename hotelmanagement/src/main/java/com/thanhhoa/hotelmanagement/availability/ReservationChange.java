@@ -0,0 +1,13 @@
+package com.thanhhoa.hotelmanagement.availability;
+
+import java.time.LocalDateTime;
+
+/**
+ * A room of a reservation that was written at {@code updatedAt}, on this node
+ * or another.
+ */
+public record ReservationChange(
+        Long reservationId,
+        LocalDateTime updatedAt,
+        Long roomId) {
+}
@@ -0,0 +1,252 @@
+package com.thanhhoa.hotelmanagement.availability;
+
+import com.thanhhoa.hotelmanagement.entity.ReservationStatus;
+import com.thanhhoa.hotelmanagement.repository.ReservationRoomRepository;
+import com.thanhhoa.hotelmanagement.repository.RoomRepository;
+import com.thanhhoa.hotelmanagement.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory per-room, per-night occupancy bitmap.
+ * <p>
+ * Bit {@code n} of a room's {@link BitSet} is set when the night starting on
+ * {@code origin + n} days is held by an active reservation. This node's own
+ * reservation and room writes are applied once their transaction commits.
+ * Bookings made on other nodes are picked up by {@link #sync()}, which every
+ * {@code sync-interval-ms} rereads the rooms of reservations written since the
+ * previous pass and rebuilds their bitmaps. Each pass looks back
+ * {@code sync-lag-seconds}, so a transaction that commits late, or a node whose
+ * clock runs behind, is still seen; reservations already seen at the same
+ * {@code updated_at} are skipped. Every {@code full-reload-minutes}, and when
+ * the date changes, the whole index is reloaded from today, which also drops
+ * reservations deleted outright and adds rooms created elsewhere.
+ * <p>
+ * The index answers only while its last sync is at most three intervals old;
+ * before the first load, or when syncing fails, callers fall back to the
+ * database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomAvailabilityIndex {
+
+    public static final Set<ReservationStatus> INACTIVE_STATUSES = EnumSet.of(ReservationStatus.CANCELLED,
+            ReservationStatus.CHECKED_OUT);
+
+    private final RoomRepository roomRepository;
+    private final ReservationRoomRepository reservationRoomRepository;
+
+    @Value("${hotel.availability.horizon-days:730}")
+    private int horizonDays;
+
+    @Value("${hotel.availability.sync-interval-ms:5000}")
+    private long syncIntervalMs;
+
+    @Value("${hotel.availability.sync-lag-seconds:120}")
+    private long syncLagSeconds;
+
+    @Value("${hotel.availability.full-reload-minutes:60}")
+    private long fullReloadMinutes;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, BitSet> nightsByRoom = new HashMap<>();
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+    private long originDay;
+    private volatile boolean loaded;
+
+    // Guarded by the monitor of load and sync
+    private final Map<Long, LocalDateTime> seenUpdates = new HashMap<>();
+    private LocalDateTime syncedSince;
+    private long loadedAt;
+    private volatile long syncedAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void load() {
+        LocalDateTime started = LocalDateTime.now();
+        reloadAll(started.toLocalDate());
+        markSynced(started);
+    }
+
+    /**
+     * Applies reservations written since the previous pass, on any node, and
+     * reloads everything when the date has changed or the full reload is due.
+     */
+    @Scheduled(fixedDelayString = "${hotel.availability.sync-interval-ms:5000}",
+            initialDelayString = "${hotel.availability.sync-interval-ms:5000}")
+    @Transactional(readOnly = true)
+    public synchronized void sync() {
+        if (!loaded) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        LocalDate today = started.toLocalDate();
+        if (today.toEpochDay() != originDay
+                || System.nanoTime() - loadedAt > TimeUnit.MINUTES.toNanos(fullReloadMinutes)) {
+            reloadAll(today);
+        } else {
+            Set<Long> changedRoomIds = new HashSet<>();
+            for (ReservationChange change : reservationRoomRepository.findChangesSince(syncedSince)) {
+                if (!change.updatedAt().equals(seenUpdates.put(change.reservationId(), change.updatedAt()))) {
+                    changedRoomIds.add(change.roomId());
+                }
+            }
+            if (!changedRoomIds.isEmpty()) {
+                reloadRooms(changedRoomIds, today);
+            }
+        }
+        markSynced(started);
+    }
+
+    // Caller holds the monitor
+    private void reloadAll(LocalDate today) {
+        List<Long> roomIds = roomRepository.findAllIds();
+        List<RoomOccupancy> occupancies = reservationRoomRepository.findActiveOccupancies(today, INACTIVE_STATUSES);
+
+        lock.writeLock().lock();
+        try {
+            nightsByRoom.clear();
+            originDay = today.toEpochDay();
+            roomIds.forEach(roomId -> nightsByRoom.put(roomId, new BitSet(horizonDays)));
+            occupancies.forEach(occupancy -> mark(occupancy.roomId(), occupancy.checkIn(), occupancy.checkOut(), true));
+            // Changes committed while the snapshot was being read are replayed on top of it
+            pendingChanges.forEach(Runnable::run);
+            pendingChanges.clear();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        loadedAt = System.nanoTime();
+        log.info("Room availability index loaded: {} rooms, {} active room bookings", roomIds.size(),
+                occupancies.size());
+    }
+
+    // Caller holds the monitor. A local change committed during the read may be overwritten;
+    // its reservation was written after this pass's query, so the next pass reloads the room.
+    private void reloadRooms(Set<Long> roomIds, LocalDate today) {
+        List<RoomOccupancy> occupancies = reservationRoomRepository.findActiveOccupanciesOfRooms(roomIds, today,
+                INACTIVE_STATUSES);
+
+        lock.writeLock().lock();
+        try {
+            roomIds.forEach(roomId -> nightsByRoom.put(roomId, new BitSet(horizonDays)));
+            occupancies.forEach(occupancy -> mark(occupancy.roomId(), occupancy.checkIn(), occupancy.checkOut(), true));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Room availability index refreshed for {} rooms", roomIds.size());
+    }
+
+    // Caller holds the monitor
+    private void markSynced(LocalDateTime started) {
+        syncedSince = started.minusSeconds(syncLagSeconds);
+        seenUpdates.values().removeIf(updatedAt -> !updatedAt.isAfter(syncedSince));
+        syncedAt = System.nanoTime();
+    }
+
+    /**
+     * Returns the ids of all rooms with no active booking on any night in
+     * [checkIn, checkOut), or empty when the range lies outside the indexed
+     * horizon, the index has not been loaded yet or its last sync is too old.
+     */
+    public Optional<List<Long>> findAvailableRoomIds(LocalDate checkIn, LocalDate checkOut) {
+        if (!loaded || System.nanoTime() - syncedAt > TimeUnit.MILLISECONDS.toNanos(3 * syncIntervalMs)) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            long from = checkIn.toEpochDay() - originDay;
+            long to = checkOut.toEpochDay() - originDay;
+            long horizonEnd = LocalDate.now().toEpochDay() - originDay + horizonDays;
+            if (from < 0 || to > horizonEnd) {
+                return Optional.empty();
+            }
+
+            List<Long> available = new ArrayList<>();
+            for (Map.Entry<Long, BitSet> entry : nightsByRoom.entrySet()) {
+                int nextBooked = entry.getValue().nextSetBit((int) from);
+                if (nextBooked == -1 || nextBooked >= to) {
+                    available.add(entry.getKey());
+                }
+            }
+            return Optional.of(available);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void occupy(Collection<Long> roomIds, LocalDate checkIn, LocalDate checkOut) {
+        List<Long> ids = List.copyOf(roomIds);
+        afterCommit(() -> ids.forEach(roomId -> mark(roomId, checkIn, checkOut, true)));
+    }
+
+    public void release(Collection<Long> roomIds, LocalDate checkIn, LocalDate checkOut) {
+        List<Long> ids = List.copyOf(roomIds);
+        afterCommit(() -> ids.forEach(roomId -> mark(roomId, checkIn, checkOut, false)));
+    }
+
+    public void addRoom(Long roomId) {
+        afterCommit(() -> nightsByRoom.computeIfAbsent(roomId, id -> new BitSet(horizonDays)));
+    }
+
+    public void removeRoom(Long roomId) {
+        afterCommit(() -> nightsByRoom.remove(roomId));
+    }
+
+    private void afterCommit(Runnable change) {
+        AfterCommit.run(() -> apply(change));
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                change.run();
+            } else {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private void mark(Long roomId, LocalDate checkIn, LocalDate checkOut, boolean booked) {
+        int from = (int) Math.max(0, checkIn.toEpochDay() - originDay);
+        int to = (int) (checkOut.toEpochDay() - originDay);
+        if (to <= from) {
+            return;
+        }
+
+        BitSet nights = nightsByRoom.computeIfAbsent(roomId, id -> new BitSet(horizonDays));
+        if (booked) {
+            nights.set(from, to);
+        } else {
+            nights.clear(from, to);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.thanhhoa.hotelmanagement.availability;
+
+import java.time.LocalDate;
+
+/**
+ * One room held by an active reservation for the nights [checkIn, checkOut).
+ */
+public record RoomOccupancy(
+        Long roomId,
+        LocalDate checkIn,
+        LocalDate checkOut) {
+}
@@ -0,0 +1,15 @@
+package com.thanhhoa.hotelmanagement.cache;
+
+/**
+ * Second-level cache region names. Sizes and expiry are set per region in
+ * {@code application.conf}.
+ */
+public final class CacheRegions {
+
+    public static final String ROOM_TYPES = "roomTypes";
+    public static final String SERVICES = "services";
+    public static final String REFERENCE_QUERIES = "referenceQueries";
+
+    private CacheRegions() {
+    }
+}
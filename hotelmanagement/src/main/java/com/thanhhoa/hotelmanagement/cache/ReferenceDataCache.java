@@ -0,0 +1,84 @@
+package com.thanhhoa.hotelmanagement.cache;
+
+import com.thanhhoa.hotelmanagement.dto.response.CacheRegionStatisticsResponse;
+import com.thanhhoa.hotelmanagement.entity.RoomType;
+import com.thanhhoa.hotelmanagement.entity.Service;
+import com.thanhhoa.hotelmanagement.transaction.AfterCommit;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Eviction hooks and statistics for the room type and service catalog held in
+ * the Hibernate second-level cache. Changes made through JPA keep the
+ * READ_WRITE regions consistent on their own; these hooks are for writes that
+ * bypass Hibernate, such as SQL scripts or bulk updates.
+ */
+@Component
+@Slf4j
+public class ReferenceDataCache {
+
+    private final SessionFactory sessionFactory;
+
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public void evictRoomType(Long id) {
+        // Evicting before commit would let a concurrent read re-cache the old row
+        AfterCommit.run(() -> {
+            sessionFactory.getCache().evictEntityData(RoomType.class, id);
+            sessionFactory.getCache().evictQueryRegion(CacheRegions.REFERENCE_QUERIES);
+        });
+    }
+
+    public void evictService(Long id) {
+        AfterCommit.run(() -> {
+            sessionFactory.getCache().evictEntityData(Service.class, id);
+            sessionFactory.getCache().evictQueryRegion(CacheRegions.REFERENCE_QUERIES);
+        });
+    }
+
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            sessionFactory.getCache().evictEntityData(RoomType.class);
+            sessionFactory.getCache().evictEntityData(Service.class);
+            sessionFactory.getCache().evictQueryRegion(CacheRegions.REFERENCE_QUERIES);
+            log.info("Evicted room types, services and their cached queries");
+        });
+    }
+
+    public List<CacheRegionStatisticsResponse> getStatistics() {
+        return getRegionNames().stream()
+                .map(this::getStatistics)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    public List<String> getRegionNames() {
+        return Arrays.stream(sessionFactory.getStatistics().getSecondLevelCacheRegionNames()).sorted().toList();
+    }
+
+    public Optional<CacheRegionStatisticsResponse> getStatistics(String name) {
+        Statistics statistics = sessionFactory.getStatistics();
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+        if (region == null) {
+            region = statistics.getQueryRegionStatistics(name);
+        }
+        return Optional.ofNullable(region)
+                .map(stats -> toResponse(name, stats.getHitCount(), stats.getMissCount(), stats.getPutCount()));
+    }
+
+    private CacheRegionStatisticsResponse toResponse(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        return new CacheRegionStatisticsResponse(region, hits, misses, puts,
+                lookups == 0 ? 0.0 : (double) hits / lookups);
+    }
+}
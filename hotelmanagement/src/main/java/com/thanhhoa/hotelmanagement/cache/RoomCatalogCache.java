@@ -0,0 +1,174 @@
+package com.thanhhoa.hotelmanagement.cache;
+
+import com.thanhhoa.hotelmanagement.dto.response.RoomImageResponse;
+import com.thanhhoa.hotelmanagement.dto.response.RoomResponse;
+import com.thanhhoa.hotelmanagement.entity.RoomStatus;
+import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
+import com.thanhhoa.hotelmanagement.repository.RoomImageRepository;
+import com.thanhhoa.hotelmanagement.repository.RoomRepository;
+import com.thanhhoa.hotelmanagement.repository.RoomRepository.RoomView;
+import com.thanhhoa.hotelmanagement.transaction.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Node-local read cache of the room catalog as ready-made {@link RoomResponse}s.
+ * <p>
+ * Readers get an immutable {@link Snapshot} and never block one another. Writers
+ * mark the rooms they touched as stale once their transaction commits; the next
+ * reader reloads just those rooms and publishes a copy of the map with them
+ * replaced. Each published snapshot carries a new ETag. Changes made on another
+ * node or outside the application are picked up by a full reload once the
+ * snapshot is older than {@code hotel.room-catalog.cache-ttl-seconds}.
+ */
+@Component
+@Slf4j
+public class RoomCatalogCache {
+
+    private final RoomRepository roomRepository;
+    private final RoomImageRepository roomImageRepository;
+    private final EntityMapper mapper;
+    private final long ttlNanos;
+
+    // Keeps ETags issued by another node or an earlier run from matching this one's
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final Set<Long> staleRoomIds = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private long version;
+    private volatile Snapshot snapshot;
+
+    public RoomCatalogCache(RoomRepository roomRepository, RoomImageRepository roomImageRepository,
+            EntityMapper mapper, @Value("${hotel.room-catalog.cache-ttl-seconds:60}") long ttlSeconds) {
+        this.roomRepository = roomRepository;
+        this.roomImageRepository = roomImageRepository;
+        this.mapper = mapper;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public void invalidate(Long roomId) {
+        invalidate(List.of(roomId));
+    }
+
+    public void invalidate(Collection<Long> roomIds) {
+        List<Long> ids = List.copyOf(roomIds);
+        AfterCommit.run(() -> staleRoomIds.addAll(ids));
+    }
+
+    /**
+     * Returns the current snapshot, first bringing it up to date if rooms were
+     * changed since it was published. Must be called inside a transaction.
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && staleRoomIds.isEmpty() && !current.expired(System.nanoTime(), ttlNanos)) {
+            return current;
+        }
+
+        refreshLock.lock();
+        try {
+            current = snapshot;
+            if (current == null || current.expired(System.nanoTime(), ttlNanos)) {
+                snapshot = loadAll();
+            } else if (!staleRoomIds.isEmpty()) {
+                snapshot = reload(current, drainStaleRoomIds());
+            }
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Caller must hold the refresh lock. Ids are taken before the rooms are read,
+    // so a change committed during the read is marked again and reloaded next time.
+    private List<Long> drainStaleRoomIds() {
+        List<Long> ids = new ArrayList<>();
+        for (Long id : staleRoomIds) {
+            if (staleRoomIds.remove(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private Snapshot loadAll() {
+        staleRoomIds.clear();
+        List<RoomView> rooms = roomRepository.findViewsAfter(0L, Limit.unlimited());
+        Map<Long, List<RoomImageResponse>> imagesByRoom = groupByRoom(roomImageRepository.findAllResponses());
+        NavigableMap<Long, RoomResponse> responses = new TreeMap<>();
+        rooms.forEach(room -> responses.put(room.getId(), toResponse(room, imagesByRoom)));
+        log.debug("Room catalog loaded: {} rooms", responses.size());
+        return new Snapshot(System.nanoTime(), nextETag(), Collections.unmodifiableNavigableMap(responses));
+    }
+
+    private Snapshot reload(Snapshot current, List<Long> roomIds) {
+        List<RoomView> rooms = roomRepository.findViewsByIdIn(roomIds);
+        Map<Long, List<RoomImageResponse>> imagesByRoom = rooms.isEmpty() ? Map.of()
+                : groupByRoom(roomImageRepository.findResponsesByRoomIds(roomIds));
+        NavigableMap<Long, RoomResponse> responses = new TreeMap<>(current.rooms());
+        // Rooms that no longer exist are simply not read back
+        roomIds.forEach(responses::remove);
+        rooms.forEach(room -> responses.put(room.getId(), toResponse(room, imagesByRoom)));
+        log.debug("Room catalog refreshed for rooms {}", roomIds);
+        return new Snapshot(current.loadedAt(), nextETag(), Collections.unmodifiableNavigableMap(responses));
+    }
+
+    private String nextETag() {
+        return "\"" + epoch + "-" + (++version) + "\"";
+    }
+
+    private RoomResponse toResponse(RoomView room, Map<Long, List<RoomImageResponse>> imagesByRoom) {
+        return mapper.toResponse(room, List.copyOf(imagesByRoom.getOrDefault(room.getId(), List.of())));
+    }
+
+    private Map<Long, List<RoomImageResponse>> groupByRoom(List<RoomImageResponse> images) {
+        return images.stream().collect(Collectors.groupingBy(RoomImageResponse::roomId));
+    }
+
+    /**
+     * An immutable view of the catalog, ordered by room id.
+     */
+    public record Snapshot(long loadedAt, String eTag, NavigableMap<Long, RoomResponse> rooms) {
+
+        boolean expired(long now, long ttlNanos) {
+            return now - loadedAt > ttlNanos;
+        }
+
+        public List<RoomResponse> after(long afterId, int max) {
+            return rooms.tailMap(afterId, false).values().stream()
+                    .limit(max)
+                    .toList();
+        }
+
+        public List<RoomResponse> withStatus(RoomStatus status) {
+            return rooms.values().stream()
+                    .filter(room -> room.roomStatus() == status)
+                    .toList();
+        }
+
+        public List<RoomResponse> byIds(Collection<Long> ids) {
+            return ids.stream()
+                    .map(rooms::get)
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparing(RoomResponse::id))
+                    .toList();
+        }
+    }
+}
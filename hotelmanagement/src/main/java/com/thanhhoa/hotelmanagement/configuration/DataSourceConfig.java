@@ -0,0 +1,63 @@
+package com.thanhhoa.hotelmanagement.configuration;
+
+import com.thanhhoa.hotelmanagement.datasource.Workload;
+import com.thanhhoa.hotelmanagement.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+
+/**
+ * One Hikari pool per {@link Workload}, so a slow report cannot hold the
+ * connections a check-in needs. Both pools take the connection settings of
+ * {@code spring.datasource} and the pool settings of
+ * {@code spring.datasource.hikari}; {@code hotel.datasource.booking} and
+ * {@code hotel.datasource.reporting} override them per pool, for instance
+ * {@code maximum-pool-size}, {@code connection-timeout} or a {@code jdbc-url}
+ * pointing at a replica.
+ * <p>
+ * JPA, Flyway and {@code JdbcTemplate} all use the primary data source, which
+ * routes each connection to one of the pools; see {@link WorkloadRoutingDataSource}.
+ * The pools are beans themselves so that their {@code hikaricp.connections.*}
+ * meters are published, tagged with the pool name.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource bookingDataSource(DataSourceProperties properties, Environment environment) {
+        return pool(Workload.Type.BOOKING, properties, environment);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource reportingDataSource(DataSourceProperties properties, Environment environment) {
+        return pool(Workload.Type.REPORTING, properties, environment);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("bookingDataSource") DataSource booking,
+            @Qualifier("reportingDataSource") DataSource reporting) {
+        return new LazyConnectionDataSourceProxy(new WorkloadRoutingDataSource(booking, reporting));
+    }
+
+    private HikariDataSource pool(Workload.Type workload, DataSourceProperties properties, Environment environment) {
+        String name = workload.name().toLowerCase(Locale.ROOT);
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        binder.bind("hotel.datasource." + name, Bindable.ofInstance(dataSource));
+        // The pool tag of the hikaricp.connections.* meters
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
@@ -1,7 +1,10 @@
 package com.thanhhoa.hotelmanagement.configuration;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.logging.LoggersEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -25,7 +28,11 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Basic auth against spring.security.user, for the operator endpoints below
+                .httpBasic(Customizer.withDefaults())
                 .authorizeHttpRequests(auth -> auth
+                        // Changing log levels can expose bound SQL parameters and flood the logs
+                        .requestMatchers(EndpointRequest.to(LoggersEndpoint.class)).hasRole("ADMIN")
                         .requestMatchers(
                                 "/api-docs/**",
                                 "/swagger-ui/**",
@@ -0,0 +1,37 @@
+package com.thanhhoa.hotelmanagement.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Logs which kind of thread serves requests.
+ * <p>
+ * With {@code spring.threads.virtual.enabled} on Java 21 or newer, Spring Boot
+ * runs Tomcat requests, {@code @Async} methods and {@code @Scheduled} jobs on
+ * virtual threads, and the outbox workers follow suit. Requests then no longer
+ * queue for one of {@code server.tomcat.threads.max} threads; the Hikari pool
+ * becomes the limit on concurrent database work. On older runtimes Spring Boot
+ * ignores the setting, so this warns rather than letting a deployment silently
+ * run on the platform pool.
+ * <p>
+ * Request-scoped state needs no change: {@code SecurityContextHolder} and
+ * {@code RequestContextHolder} are thread-locals of the thread serving the
+ * request, which is then that request's own virtual thread, and
+ * {@code AuditAspect} reads them on that thread before handing the event to
+ * the audit writer.
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    public ThreadingConfig(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Serving requests, @Async and @Scheduled work on virtual threads");
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; "
+                    + "serving requests on the platform thread pool", Runtime.version().feature());
+        }
+    }
+}
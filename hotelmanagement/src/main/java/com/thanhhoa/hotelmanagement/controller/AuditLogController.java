@@ -1,18 +1,25 @@
 package com.thanhhoa.hotelmanagement.controller;
 
+import com.thanhhoa.hotelmanagement.audit.AuditExportFormat;
 import com.thanhhoa.hotelmanagement.dto.response.ApiResponse;
 import com.thanhhoa.hotelmanagement.dto.response.AuditLogResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.entity.AuditStatus;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.service.AuditLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/audit-logs")
@@ -30,9 +37,11 @@ public class AuditLogController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all audit logs")
-    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getAllAuditLogs() {
-        List<AuditLogResponse> response = auditLogService.getAllAuditLogs();
+    @Operation(summary = "Get all audit logs, one keyset page at a time")
+    public ResponseEntity<ApiResponse<PageResponse<AuditLogResponse>>> getAllAuditLogs(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + Pagination.DEFAULT_LIMIT) int limit) {
+        PageResponse<AuditLogResponse> response = auditLogService.getAllAuditLogs(after, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -75,4 +84,29 @@ public class AuditLogController {
         List<AuditLogResponse> response = auditLogService.getAuditLogsByDateRange(start, end);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream audit logs in [start, end) as NDJSON or CSV, optionally gzip-compressed")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "NDJSON") AuditExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        auditLogService.validateExportRange(start, end);
+        String fileName = "audit-logs-" + start.toLocalDate() + "-" + end.toLocalDate() + "." + format.getExtension();
+        StreamingResponseBody body = out -> auditLogService.exportAuditLogs(start, end, format, out);
+        if (gzip) {
+            StreamingResponseBody plain = body;
+            body = out -> {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024)) {
+                    plain.writeTo(compressed);
+                }
+            };
+            fileName += ".gz";
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
 }
@@ -0,0 +1,49 @@
+package com.thanhhoa.hotelmanagement.controller;
+
+import com.thanhhoa.hotelmanagement.cache.ReferenceDataCache;
+import com.thanhhoa.hotelmanagement.dto.response.ApiResponse;
+import com.thanhhoa.hotelmanagement.dto.response.CacheRegionStatisticsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache Management", description = "APIs for inspecting and evicting the second-level cache")
+public class CacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @GetMapping("/statistics")
+    @Operation(summary = "Get hit and miss counts per second-level cache region")
+    public ResponseEntity<ApiResponse<List<CacheRegionStatisticsResponse>>> getStatistics() {
+        List<CacheRegionStatisticsResponse> response = referenceDataCache.getStatistics();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @DeleteMapping("/reference-data")
+    @Operation(summary = "Evict cached room types and services after changing them outside the application")
+    public ResponseEntity<ApiResponse<Void>> evictReferenceData() {
+        referenceDataCache.evictAll();
+        return ResponseEntity.ok(ApiResponse.success("Reference data cache evicted", null));
+    }
+
+    @DeleteMapping("/room-types/{id}")
+    @Operation(summary = "Evict one cached room type")
+    public ResponseEntity<ApiResponse<Void>> evictRoomType(@PathVariable Long id) {
+        referenceDataCache.evictRoomType(id);
+        return ResponseEntity.ok(ApiResponse.success("Room type evicted from cache", null));
+    }
+
+    @DeleteMapping("/services/{id}")
+    @Operation(summary = "Evict one cached service")
+    public ResponseEntity<ApiResponse<Void>> evictService(@PathVariable Long id) {
+        referenceDataCache.evictService(id);
+        return ResponseEntity.ok(ApiResponse.success("Service evicted from cache", null));
+    }
+}
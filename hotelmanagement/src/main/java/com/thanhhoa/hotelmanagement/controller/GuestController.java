@@ -3,6 +3,8 @@ package com.thanhhoa.hotelmanagement.controller;
 import com.thanhhoa.hotelmanagement.dto.request.GuestRequest;
 import com.thanhhoa.hotelmanagement.dto.response.ApiResponse;
 import com.thanhhoa.hotelmanagement.dto.response.GuestResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.service.interfaces.IGuestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -60,9 +62,11 @@ public class GuestController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all guests")
-    public ResponseEntity<ApiResponse<List<GuestResponse>>> getAllGuests() {
-        List<GuestResponse> response = guestService.getAllGuests();
+    @Operation(summary = "Get all guests, one keyset page at a time")
+    public ResponseEntity<ApiResponse<PageResponse<GuestResponse>>> getAllGuests(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + Pagination.DEFAULT_LIMIT) int limit) {
+        PageResponse<GuestResponse> response = guestService.getAllGuests(after, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -2,13 +2,19 @@ package com.thanhhoa.hotelmanagement.controller;
 
 import com.thanhhoa.hotelmanagement.dto.response.ApiResponse;
 import com.thanhhoa.hotelmanagement.dto.response.InvoiceResponse;
+import com.thanhhoa.hotelmanagement.dto.response.NightAuditResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
+import com.thanhhoa.hotelmanagement.invoice.NightAudit;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.service.InvoiceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,6 +24,7 @@ import java.util.List;
 public class InvoiceController {
 
     private final InvoiceService invoiceService;
+    private final NightAudit nightAudit;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get invoice by ID")
@@ -41,9 +48,20 @@ public class InvoiceController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all invoices")
-    public ResponseEntity<ApiResponse<List<InvoiceResponse>>> getAllInvoices() {
-        List<InvoiceResponse> response = invoiceService.getAllInvoices();
+    @Operation(summary = "Get all invoices, one keyset page at a time")
+    public ResponseEntity<ApiResponse<PageResponse<InvoiceResponse>>> getAllInvoices(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + Pagination.DEFAULT_LIMIT) int limit) {
+        PageResponse<InvoiceResponse> response = invoiceService.getAllInvoices(after, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @PostMapping("/night-audit")
+    @Operation(summary = "Invoice every billable reservation checking out on or before the date (default today)")
+    public ResponseEntity<ApiResponse<NightAuditResponse>> runNightAudit(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate businessDate = date != null ? date : LocalDate.now();
+        NightAuditResponse response = new NightAuditResponse(businessDate, nightAudit.run(businessDate));
+        return ResponseEntity.ok(ApiResponse.success("Night audit completed", response));
+    }
 }
@@ -1,9 +1,13 @@
 package com.thanhhoa.hotelmanagement.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.thanhhoa.hotelmanagement.dto.request.PaymentRequest;
 import com.thanhhoa.hotelmanagement.dto.response.ApiResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.dto.response.PaymentResponse;
 import com.thanhhoa.hotelmanagement.entity.PaymentStatus;
+import com.thanhhoa.hotelmanagement.idempotency.IdempotencyService;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.service.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,15 +25,23 @@ import java.util.List;
 @Tag(name = "Payment Management", description = "APIs for managing payments")
 public class PaymentController {
 
+    private static final TypeReference<ApiResponse<PaymentResponse>> PAYMENT_RESPONSE = new TypeReference<>() {
+    };
+
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    @Operation(summary = "Create a new payment")
-    public ResponseEntity<ApiResponse<PaymentResponse>> createPayment(@Valid @RequestBody PaymentRequest request) {
-        PaymentResponse response = paymentService.createPayment(request);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Payment created successfully", response));
+    @Operation(summary = "Create a new payment; retries with the same Idempotency-Key return the first response")
+    public ResponseEntity<ApiResponse<PaymentResponse>> createPayment(
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody PaymentRequest request) {
+        return idempotencyService.execute("payments.create", idempotencyKey, request, PAYMENT_RESPONSE, () -> {
+            PaymentResponse response = paymentService.createPayment(request);
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Payment created successfully", response));
+        });
     }
 
     @GetMapping("/{id}")
@@ -40,9 +52,11 @@ public class PaymentController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all payments")
-    public ResponseEntity<ApiResponse<List<PaymentResponse>>> getAllPayments() {
-        List<PaymentResponse> response = paymentService.getAllPayments();
+    @Operation(summary = "Get all payments, one keyset page at a time")
+    public ResponseEntity<ApiResponse<PageResponse<PaymentResponse>>> getAllPayments(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + Pagination.DEFAULT_LIMIT) int limit) {
+        PageResponse<PaymentResponse> response = paymentService.getAllPayments(after, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -72,10 +86,14 @@ public class PaymentController {
     }
 
     @PatchMapping("/{id}/complete")
-    @Operation(summary = "Complete payment")
-    public ResponseEntity<ApiResponse<PaymentResponse>> completePayment(@PathVariable Long id) {
-        PaymentResponse response = paymentService.completePayment(id);
-        return ResponseEntity.ok(ApiResponse.success("Payment completed successfully", response));
+    @Operation(summary = "Complete payment; retries with the same Idempotency-Key return the first response")
+    public ResponseEntity<ApiResponse<PaymentResponse>> completePayment(
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @PathVariable Long id) {
+        return idempotencyService.execute("payments.complete", idempotencyKey, id, PAYMENT_RESPONSE, () -> {
+            PaymentResponse response = paymentService.completePayment(id);
+            return ResponseEntity.ok(ApiResponse.success("Payment completed successfully", response));
+        });
     }
 
     @DeleteMapping("/{id}")
@@ -2,8 +2,10 @@ package com.thanhhoa.hotelmanagement.controller;
 
 import com.thanhhoa.hotelmanagement.dto.request.ReservationRequest;
 import com.thanhhoa.hotelmanagement.dto.response.ApiResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.dto.response.ReservationResponse;
 import com.thanhhoa.hotelmanagement.entity.ReservationStatus;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.service.ReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -42,9 +44,11 @@ public class ReservationController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all reservations")
-    public ResponseEntity<ApiResponse<List<ReservationResponse>>> getAllReservations() {
-        List<ReservationResponse> response = reservationService.getAllReservations();
+    @Operation(summary = "Get all reservations, one keyset page at a time")
+    public ResponseEntity<ApiResponse<PageResponse<ReservationResponse>>> getAllReservations(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + Pagination.DEFAULT_LIMIT) int limit) {
+        PageResponse<ReservationResponse> response = reservationService.getAllReservations(after, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
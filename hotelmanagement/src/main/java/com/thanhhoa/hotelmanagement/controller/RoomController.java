@@ -2,18 +2,25 @@ package com.thanhhoa.hotelmanagement.controller;
 
 import com.thanhhoa.hotelmanagement.dto.request.RoomRequest;
 import com.thanhhoa.hotelmanagement.dto.response.ApiResponse;
+import com.thanhhoa.hotelmanagement.dto.response.InventoryCalendarResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.dto.response.RoomResponse;
 import com.thanhhoa.hotelmanagement.entity.RoomStatus;
 import com.thanhhoa.hotelmanagement.entity.RoomType;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
+import com.thanhhoa.hotelmanagement.service.RoomInventoryService;
 import com.thanhhoa.hotelmanagement.service.RoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -23,6 +30,7 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final RoomInventoryService inventoryService;
 
     @PostMapping
     @Operation(summary = "Create a new room")
@@ -48,10 +56,18 @@ public class RoomController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all rooms")
-    public ResponseEntity<ApiResponse<List<RoomResponse>>> getAllRooms() {
-        List<RoomResponse> response = roomService.getAllRooms();
-        return ResponseEntity.ok(ApiResponse.success(response));
+    @Operation(summary = "Get all rooms, one keyset page at a time; honours If-None-Match")
+    public ResponseEntity<ApiResponse<PageResponse<RoomResponse>>> getAllRooms(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + Pagination.DEFAULT_LIMIT) int limit,
+            WebRequest webRequest) {
+        // Taken before the body, so the body is never older than the tag sent with it
+        String eTag = roomService.getRoomCatalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        PageResponse<RoomResponse> response = roomService.getAllRooms(after, limit);
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(response));
     }
 
     @GetMapping("/status/{status}")
@@ -69,9 +85,28 @@ public class RoomController {
     }
 
     @GetMapping("/available")
-    @Operation(summary = "Get available rooms")
-    public ResponseEntity<ApiResponse<List<RoomResponse>>> getAvailableRooms() {
-        List<RoomResponse> response = roomService.getAvailableRooms();
+    @Operation(summary = "Get available rooms, optionally for a stay between check-in and check-out; " +
+            "honours If-None-Match")
+    public ResponseEntity<ApiResponse<List<RoomResponse>>> getAvailableRooms(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            WebRequest webRequest) {
+        String eTag = roomService.getRoomCatalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        List<RoomResponse> response = checkIn != null && checkOut != null
+                ? roomService.getAvailableRooms(checkIn, checkOut)
+                : roomService.getAvailableRooms();
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(response));
+    }
+
+    @GetMapping("/inventory")
+    @Operation(summary = "Get capacity, sold and available rooms per room type for each night in [from, to)")
+    public ResponseEntity<ApiResponse<InventoryCalendarResponse>> getInventoryCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        InventoryCalendarResponse response = inventoryService.getCalendar(from, to);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
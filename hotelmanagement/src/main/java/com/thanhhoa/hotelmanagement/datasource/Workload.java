@@ -0,0 +1,28 @@
+package com.thanhhoa.hotelmanagement.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Picks the connection pool for a method's transaction, overriding the
+ * default: read-only transactions use {@link Type#REPORTING}, everything else
+ * {@link Type#BOOKING}. On a class it applies to every method; a method's own
+ * annotation wins.
+ * <p>
+ * Only the transaction that starts in the annotated method is affected. A call
+ * that joins a transaction already holding a connection keeps that connection.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Workload {
+    Type value();
+
+    enum Type {
+        /** Front-desk work: bookings, payments, check-ins and the lookups they make. */
+        BOOKING,
+        /** Listings, exports and other long reads that may wait for a connection. */
+        REPORTING
+    }
+}
@@ -0,0 +1,36 @@
+package com.thanhhoa.hotelmanagement.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes {@link Workload} annotations visible to {@link WorkloadRoutingDataSource}
+ * for the duration of the call. The pool is picked at the first statement,
+ * inside the call, so the order relative to the transaction advice does not
+ * matter.
+ */
+@Aspect
+@Component
+public class WorkloadAspect {
+
+    @Around("@within(com.thanhhoa.hotelmanagement.datasource.Workload) "
+            + "|| @annotation(com.thanhhoa.hotelmanagement.datasource.Workload)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(
+                    joinPoint.getTarget().getClass(), Workload.class);
+        }
+        Workload.Type previous = WorkloadRoutingDataSource.use(workload.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadRoutingDataSource.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.thanhhoa.hotelmanagement.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool of the current {@link Workload}: the one
+ * set by {@link WorkloadAspect}, otherwise {@code REPORTING} for read-only
+ * transactions and {@code BOOKING} for the rest.
+ * <p>
+ * The pool is chosen when a connection is requested, so this must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: the transaction manager opens its
+ * connection before the transaction is marked read-only, and the proxy only
+ * fetches the real one at the first statement.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Workload.Type> CURRENT = new ThreadLocal<>();
+
+    public WorkloadRoutingDataSource(DataSource booking, DataSource reporting) {
+        setTargetDataSources(Map.of(Workload.Type.BOOKING, booking, Workload.Type.REPORTING, reporting));
+        setDefaultTargetDataSource(booking);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /** Sets the workload of the current thread and returns the one it replaces, for {@link #restore}. */
+    static Workload.Type use(Workload.Type workload) {
+        Workload.Type previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    static void restore(Workload.Type previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Workload.Type workload = CURRENT.get();
+        if (workload != null) {
+            return workload;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Workload.Type.REPORTING
+                : Workload.Type.BOOKING;
+    }
+}
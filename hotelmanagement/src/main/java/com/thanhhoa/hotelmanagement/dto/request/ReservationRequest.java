@@ -3,17 +3,25 @@ package com.thanhhoa.hotelmanagement.dto.request;
 import com.thanhhoa.hotelmanagement.entity.ReservationStatus;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.FutureOrPresent;
-import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Either {@code roomIds} names the exact rooms to book, or {@code roomTypeId}
+ * and {@code roomCount} ask for any free rooms of that type.
+ */
 public record ReservationRequest(
         @NotNull(message = "Keycloak user ID is required") UUID keycloakUserId,
 
-        @NotEmpty(message = "At least one room is required") List<Long> roomIds,
+        List<Long> roomIds,
+
+        @Positive(message = "Room type ID must be positive") Long roomTypeId,
+
+        @Positive(message = "Room count must be positive") Integer roomCount,
 
         @NotNull(message = "Check-in date is required") @FutureOrPresent(message = "Check-in date must be today or in the future") LocalDate checkIn,
 
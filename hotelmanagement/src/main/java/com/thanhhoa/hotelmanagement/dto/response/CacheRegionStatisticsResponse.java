@@ -0,0 +1,9 @@
+package com.thanhhoa.hotelmanagement.dto.response;
+
+public record CacheRegionStatisticsResponse(
+        String region,
+        long hits,
+        long misses,
+        long puts,
+        double hitRatio) {
+}
@@ -0,0 +1,12 @@
+package com.thanhhoa.hotelmanagement.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Room-type by night matrix; every row's lists are aligned with {@code nights}.
+ */
+public record InventoryCalendarResponse(
+        List<LocalDate> nights,
+        List<RoomTypeInventoryResponse> roomTypes) {
+}
@@ -0,0 +1,8 @@
+package com.thanhhoa.hotelmanagement.dto.response;
+
+import java.time.LocalDate;
+
+public record NightAuditResponse(
+        LocalDate businessDate,
+        int invoicesIssued) {
+}
@@ -0,0 +1,12 @@
+package com.thanhhoa.hotelmanagement.dto.response;
+
+import java.util.List;
+
+/**
+ * One keyset page; pass {@code nextCursor} as {@code after} to get the next
+ * page. It is null on the last page.
+ */
+public record PageResponse<T>(
+        List<T> items,
+        String nextCursor) {
+}
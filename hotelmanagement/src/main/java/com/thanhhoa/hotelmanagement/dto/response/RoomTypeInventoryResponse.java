@@ -0,0 +1,11 @@
+package com.thanhhoa.hotelmanagement.dto.response;
+
+import java.util.List;
+
+public record RoomTypeInventoryResponse(
+        Long roomTypeId,
+        String roomTypeName,
+        List<Integer> capacity,
+        List<Integer> sold,
+        List<Integer> available) {
+}
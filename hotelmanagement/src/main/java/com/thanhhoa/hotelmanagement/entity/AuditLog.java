@@ -10,7 +10,7 @@ import java.util.UUID;
 @Table(name = "audit_logs", indexes = {
         @Index(name = "idx_audit_user_id", columnList = "user_id"),
         @Index(name = "idx_audit_entity", columnList = "entity, entity_id"),
-        @Index(name = "idx_audit_timestamp", columnList = "timestamp")
+        @Index(name = "idx_audit_timestamp", columnList = "timestamp, id")
 })
 @Getter
 @Setter
@@ -0,0 +1,6 @@
+package com.thanhhoa.hotelmanagement.entity;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -18,7 +18,8 @@ import java.util.List;
 public class Invoice {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoices_id_seq")
+    @SequenceGenerator(name = "invoices_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "invoice_number", nullable = false, unique = true, length = 50)
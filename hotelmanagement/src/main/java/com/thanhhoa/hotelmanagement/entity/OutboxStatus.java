@@ -0,0 +1,7 @@
+package com.thanhhoa.hotelmanagement.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
@@ -11,6 +11,13 @@ import java.util.List;
 
 @Entity
 @Table(name = "reservations")
+@NamedEntityGraph(name = Reservation.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("guest"),
+        @NamedAttributeNode(value = "reservationRooms", subgraph = "reservationRooms.room")
+}, subgraphs = {
+        @NamedSubgraph(name = "reservationRooms.room", attributeNodes = @NamedAttributeNode(value = "room", subgraph = "room.roomType")),
+        @NamedSubgraph(name = "room.roomType", attributeNodes = @NamedAttributeNode("roomType"))
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +25,14 @@ import java.util.List;
 @Builder
 public class Reservation {
 
+    // Fetches guest and rooms with their type in one join. Images, services and other
+    // collections stay lazy and load in batches (hibernate.default_batch_fetch_size)
+    // instead of being joined, which would multiply rows.
+    public static final String DETAIL_GRAPH = "Reservation.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_id_seq")
+    @SequenceGenerator(name = "reservations_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
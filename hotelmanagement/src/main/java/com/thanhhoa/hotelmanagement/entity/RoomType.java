@@ -1,7 +1,10 @@
 package com.thanhhoa.hotelmanagement.entity;
 
+import com.thanhhoa.hotelmanagement.cache.CacheRegions;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -9,6 +12,9 @@ import java.util.List;
 
 @Entity
 @Table(name = "room_types")
+// Reference data that changes a few times a year; served from the second-level cache
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROOM_TYPES)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,266 @@
+package com.thanhhoa.hotelmanagement.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thanhhoa.hotelmanagement.entity.IdempotencyRecord;
+import com.thanhhoa.hotelmanagement.entity.IdempotencyStatus;
+import com.thanhhoa.hotelmanagement.exception.BusinessException;
+import com.thanhhoa.hotelmanagement.exception.IdempotencyConflictException;
+import com.thanhhoa.hotelmanagement.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key}.
+ * <p>
+ * The first request with a key claims a row in {@code idempotency_keys} in its
+ * own transaction, so the claim is visible to every node before the work
+ * starts. The work and the stored response then commit together. Retries are
+ * answered from an in-memory LRU of recent responses, or from the table, and
+ * never run the work again; duplicates arriving while the first request is
+ * still running on this node wait for its result. A failed request releases
+ * its key so the client can retry.
+ */
+@Component
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate newTransaction;
+    private final long leaseSeconds;
+    private final long waitTimeoutMs;
+    private final long retentionHours;
+
+    private final Map<String, StoredResponse> recentResponses;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository repository, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${hotel.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${hotel.idempotency.lease-seconds:60}") long leaseSeconds,
+            @Value("${hotel.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs,
+            @Value("${hotel.idempotency.retention-hours:24}") long retentionHours) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseSeconds = leaseSeconds;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.retentionHours = retentionHours;
+        this.recentResponses = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same key has already
+     * completed in {@code scope}, in which case its response is returned again.
+     * Without a key the action simply runs.
+     *
+     * @param request  what the client asked for; a key reused with a different
+     *                 request is rejected
+     * @param bodyType type of the response body, for responses read back from
+     *                 the table
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, TypeReference<T> bodyType,
+            Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = scope + " " + key;
+        String requestHash = hash(scope, request);
+        StoredResponse recent = recentResponses.get(cacheKey);
+        if (recent != null) {
+            return replay(recent, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, execution);
+        if (running != null) {
+            return replay(await(running), requestHash);
+        }
+        try {
+            Outcome<T> outcome = executeOnce(scope, key, requestHash, bodyType, action);
+            recentResponses.put(cacheKey, outcome.stored());
+            execution.complete(outcome.stored());
+            return outcome.response() != null ? outcome.response() : replay(outcome.stored(), requestHash);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, execution);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hotel.idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = newTransaction.execute(status -> repository.deleteCreatedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} idempotency keys created before {}", deleted, cutoff);
+        }
+    }
+
+    private <T> Outcome<T> executeOnce(String scope, String key, String requestHash, TypeReference<T> bodyType,
+            Supplier<ResponseEntity<T>> action) {
+        Long recordId;
+        Optional<IdempotencyRecord> existing = repository.findByScopeAndIdempotencyKey(scope, key);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (!record.getRequestHash().equals(requestHash)) {
+                throw new IdempotencyConflictException(HEADER + " was already used for a different request");
+            }
+            if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+                return new Outcome<>(null, new StoredResponse(requestHash, record.getResponseStatus(),
+                        read(record.getResponseBody(), bodyType)));
+            }
+            if (!reclaimExpired(record.getId())) {
+                throw stillProcessing();
+            }
+            log.warn("Taking over abandoned idempotency key {} in {}", key, scope);
+            recordId = record.getId();
+        } else {
+            recordId = claim(scope, key, requestHash);
+        }
+
+        try {
+            ResponseEntity<T> response = transaction.execute(status -> {
+                ResponseEntity<T> result = action.get();
+                repository.complete(recordId, result.getStatusCode().value(), write(result.getBody()),
+                        LocalDateTime.now());
+                return result;
+            });
+            return new Outcome<>(response, new StoredResponse(requestHash, response.getStatusCode().value(),
+                    response.getBody()));
+        } catch (RuntimeException e) {
+            newTransaction.executeWithoutResult(status -> repository.deleteById(recordId));
+            throw e;
+        }
+    }
+
+    private Long claim(String scope, String key, String requestHash) {
+        try {
+            return newTransaction.execute(status -> repository.saveAndFlush(IdempotencyRecord.builder()
+                    .scope(scope)
+                    .idempotencyKey(key)
+                    .requestHash(requestHash)
+                    .status(IdempotencyStatus.IN_PROGRESS)
+                    .createdAt(LocalDateTime.now())
+                    .build()).getId());
+        } catch (DataIntegrityViolationException e) {
+            // Another node claimed the key between our lookup and insert
+            throw stillProcessing();
+        }
+    }
+
+    private boolean reclaimExpired(Long recordId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = newTransaction.execute(status -> repository.reclaimExpired(recordId, now,
+                now.minusSeconds(leaseSeconds)));
+        return updated != null && updated == 1;
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Duplicates share the outcome of the request they waited for
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw stillProcessing();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillProcessing();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException(HEADER + " was already used for a different request");
+        }
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body((T) stored.body());
+    }
+
+    private IdempotencyConflictException stillProcessing() {
+        return new IdempotencyConflictException("A request with this " + HEADER + " is still being processed");
+    }
+
+    private String hash(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to hash idempotent request", e);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store idempotent response", e);
+        }
+    }
+
+    private <T> T read(String body, TypeReference<T> bodyType) {
+        try {
+            return objectMapper.readValue(body, bodyType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored idempotent response", e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, int status, Object body) {
+    }
+
+    // response is null when the request had already completed before this call
+    private record Outcome<T>(ResponseEntity<T> response, StoredResponse stored) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.thanhhoa.hotelmanagement.invoice;
+
+import com.thanhhoa.hotelmanagement.entity.Invoice;
+import com.thanhhoa.hotelmanagement.repository.InvoiceRepository;
+import com.thanhhoa.hotelmanagement.repository.PaymentRepository;
+import com.thanhhoa.hotelmanagement.repository.ReservationRepository;
+import com.thanhhoa.hotelmanagement.repository.ReservationRoomRepository;
+import com.thanhhoa.hotelmanagement.repository.ReservationServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Issues itemized invoices: one line per room for the nights of the stay at its
+ * room type's nightly price, and one line per booked service.
+ * <p>
+ * Each charge is billed exactly once. Every completed payment gets its own
+ * invoice listing the charges of its reservation that no earlier invoice has
+ * billed, so a deposit invoices the stay and what was booked so far, and a later
+ * payment invoices only the services added since; a payment with nothing new to
+ * bill still gets an invoice, with no lines and a zero total. The night audit
+ * bills whatever is still outstanding at check-out on an invoice without a
+ * payment. A billed room or service row records its invoice.
+ * <p>
+ * Any number of reservations is billed with the same handful of statements:
+ * one query each for the unbilled rooms and services of every reservation, the
+ * invoice inserts, and JDBC batches for all lines and for marking their charges
+ * billed. Lines are written with JDBC, so the returned invoices do not list them
+ * in {@link Invoice#getInvoiceDetails()}.
+ * <p>
+ * The night audit and payment events can bill the same reservation at the same
+ * time. Each call row-locks its reservations before reading their unbilled
+ * charges, so the second caller waits for the first to commit and then finds
+ * them billed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InvoiceComposer {
+
+    private final InvoiceRepository invoiceRepository;
+    private final ReservationRepository reservationRepository;
+    private final PaymentRepository paymentRepository;
+    private final ReservationRoomRepository reservationRoomRepository;
+    private final ReservationServiceRepository reservationServiceRepository;
+    private final InvoiceNumberSequencer invoiceNumberSequencer;
+
+    /**
+     * Invoices the charges of the reservation not billed yet against the given
+     * payment, unless the payment already has an invoice.
+     */
+    public Optional<Invoice> invoicePayment(Long reservationId, Long paymentId) {
+        List<Long> locked = reservationRepository.lockIdsForInvoicing(List.of(reservationId));
+        if (locked.isEmpty() || invoiceRepository.existsByPaymentId(paymentId)) {
+            return Optional.empty();
+        }
+        return compose(locked, paymentId).stream().findFirst();
+    }
+
+    /**
+     * Invoices the charges not billed yet of every given reservation that has
+     * any, without a payment.
+     */
+    public List<Invoice> invoiceReservations(Collection<Long> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return List.of();
+        }
+        return compose(reservationRepository.lockIdsForInvoicing(reservationIds), null);
+    }
+
+    // With a payment every reservation gets an invoice; without one only those with unbilled charges
+    private List<Invoice> compose(List<Long> reservationIds, Long paymentId) {
+        Map<Long, List<InvoiceLine>> linesByReservation = new LinkedHashMap<>();
+        if (paymentId != null) {
+            reservationIds.forEach(id -> linesByReservation.put(id, new ArrayList<>()));
+        }
+        for (RoomCharge charge : reservationRoomRepository.findUnbilledRoomCharges(reservationIds)) {
+            linesByReservation.computeIfAbsent(charge.reservationId(), id -> new ArrayList<>()).add(toLine(charge));
+        }
+        for (ServiceCharge charge : reservationServiceRepository.findUnbilledServiceCharges(reservationIds)) {
+            linesByReservation.computeIfAbsent(charge.reservationId(), id -> new ArrayList<>()).add(toLine(charge));
+        }
+        if (linesByReservation.isEmpty()) {
+            return List.of();
+        }
+
+        List<Invoice> invoices = new ArrayList<>(linesByReservation.size());
+        linesByReservation.forEach((reservationId, lines) -> {
+            BigDecimal total = lines.stream()
+                    .map(InvoiceLine::totalPrice)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // References only, so nothing is loaded to set the foreign keys
+            invoices.add(Invoice.builder()
+                    .invoiceNumber(invoiceNumberSequencer.next())
+                    .reservation(reservationRepository.getReferenceById(reservationId))
+                    .payment(paymentId != null ? paymentRepository.getReferenceById(paymentId) : null)
+                    .totalAmount(total)
+                    .finalAmount(total)
+                    .build());
+        });
+        invoiceRepository.saveAllAndFlush(invoices);
+
+        Map<Long, List<InvoiceLine>> linesByInvoice = new HashMap<>();
+        for (Invoice invoice : invoices) {
+            linesByInvoice.put(invoice.getId(), linesByReservation.get(invoice.getReservation().getId()));
+        }
+        invoiceRepository.insertDetails(linesByInvoice);
+        invoiceRepository.markBilled(linesByInvoice);
+
+        log.info("Issued {} invoices with {} lines", invoices.size(),
+                linesByInvoice.values().stream().mapToInt(List::size).sum());
+        return invoices;
+    }
+
+    private InvoiceLine toLine(RoomCharge charge) {
+        int nights = (int) Math.max(1, ChronoUnit.DAYS.between(charge.checkIn(), charge.checkOut()));
+        return new InvoiceLine(charge.reservationRoomId(), InvoiceLine.ROOM, charge.roomId(),
+                "Room " + charge.roomNumber() + " (" + charge.roomTypeName() + "), " + nights + " night(s)",
+                nights, charge.pricePerNight(), charge.pricePerNight().multiply(BigDecimal.valueOf(nights)));
+    }
+
+    private InvoiceLine toLine(ServiceCharge charge) {
+        return new InvoiceLine(charge.reservationServiceId(), InvoiceLine.SERVICE, charge.serviceId(),
+                charge.serviceName(), charge.quantity(), charge.unitPrice(), charge.totalPrice());
+    }
+}
@@ -0,0 +1,45 @@
+package com.thanhhoa.hotelmanagement.invoice;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thanhhoa.hotelmanagement.outbox.OutboxHandler;
+import com.thanhhoa.hotelmanagement.outbox.OutboxMessage;
+import com.thanhhoa.hotelmanagement.outbox.PaymentCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues the invoice of a completed payment, itemizing the charges of its
+ * reservation that no earlier invoice has billed. A payment that already has
+ * its invoice is skipped, so a redelivered event issues nothing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InvoiceGenerationHandler implements OutboxHandler {
+
+    private final InvoiceComposer invoiceComposer;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String eventType() {
+        return PaymentCompletedEvent.TYPE;
+    }
+
+    @Override
+    public void handle(OutboxMessage message) {
+        PaymentCompletedEvent event = read(message);
+        if (invoiceComposer.invoicePayment(event.reservationId(), event.paymentId()).isEmpty()) {
+            log.debug("Invoice already exists for payment ID: {}", event.paymentId());
+        }
+    }
+
+    private PaymentCompletedEvent read(OutboxMessage message) {
+        try {
+            return objectMapper.readValue(message.payload(), PaymentCompletedEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed " + message.eventType() + " payload", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.thanhhoa.hotelmanagement.invoice;
+
+import java.math.BigDecimal;
+
+/**
+ * One {@code invoice_details} row before it is attached to an invoice.
+ * {@code chargeId} is the {@code reservation_rooms} or
+ * {@code reservation_services} row it bills, by {@code itemType}.
+ */
+public record InvoiceLine(Long chargeId, String itemType, Long itemId, String description, int quantity, BigDecimal unitPrice,
+        BigDecimal totalPrice) {
+
+    public static final String ROOM = "ROOM";
+    public static final String SERVICE = "SERVICE";
+}
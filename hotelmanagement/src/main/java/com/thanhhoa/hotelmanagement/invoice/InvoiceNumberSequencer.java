@@ -0,0 +1,10 @@
+package com.thanhhoa.hotelmanagement.invoice;
+
+/**
+ * Hands out invoice numbers. Numbers must be unique across every node; they
+ * may skip values but never repeat one.
+ */
+public interface InvoiceNumberSequencer {
+
+    String next();
+}
@@ -0,0 +1,79 @@
+package com.thanhhoa.hotelmanagement.invoice;
+
+import com.thanhhoa.hotelmanagement.entity.ReservationStatus;
+import com.thanhhoa.hotelmanagement.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bills the charges still outstanding on every confirmed, checked-in or
+ * checked-out reservation that has reached its check-out date, whatever its
+ * payments have already invoiced. Only check-outs of the last
+ * {@code lookback-days} are considered, so each run scans a bounded window
+ * rather than all history; a run missed for longer than that is caught up by
+ * calling {@link #run(LocalDate)} for the missed dates. Reservations are
+ * invoiced {@code batch-size} at a time, each batch in its own transaction, so
+ * a failure keeps the batches already committed.
+ */
+@Component
+@Slf4j
+public class NightAudit {
+
+    private static final Set<ReservationStatus> BILLABLE_STATUSES = EnumSet.of(ReservationStatus.CONFIRMED,
+            ReservationStatus.CHECKED_IN, ReservationStatus.CHECKED_OUT);
+
+    private final ReservationRepository reservationRepository;
+    private final InvoiceComposer invoiceComposer;
+    private final int batchSize;
+    private final int lookbackDays;
+
+    public NightAudit(ReservationRepository reservationRepository, InvoiceComposer invoiceComposer,
+            @Value("${hotel.night-audit.batch-size:500}") int batchSize,
+            @Value("${hotel.night-audit.lookback-days:7}") int lookbackDays) {
+        this.reservationRepository = reservationRepository;
+        this.invoiceComposer = invoiceComposer;
+        this.batchSize = batchSize;
+        this.lookbackDays = lookbackDays;
+    }
+
+    @Scheduled(cron = "${hotel.night-audit.cron:0 30 2 * * *}")
+    public void runScheduled() {
+        try {
+            run(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Night audit failed", e);
+        }
+    }
+
+    /**
+     * Invoices the unbilled charges of reservations checking out in the
+     * {@code lookback-days} up to and including {@code businessDate} and
+     * returns how many invoices were issued.
+     */
+    public int run(LocalDate businessDate) {
+        long started = System.nanoTime();
+        LocalDate since = businessDate.minusDays(lookbackDays);
+        int issued = 0;
+        long afterId = 0L;
+        List<Long> batch;
+        do {
+            batch = reservationRepository.findUnbilledIdsCheckingOutBetween(since, businessDate, BILLABLE_STATUSES,
+                    afterId, Limit.of(batchSize));
+            if (!batch.isEmpty()) {
+                issued += invoiceComposer.invoiceReservations(batch).size();
+                afterId = batch.get(batch.size() - 1);
+            }
+        } while (batch.size() == batchSize);
+        log.info("Night audit for {} issued {} invoices in {} ms", businessDate, issued,
+                (System.nanoTime() - started) / 1_000_000);
+        return issued;
+    }
+}
@@ -0,0 +1,82 @@
+package com.thanhhoa.hotelmanagement.invoice;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Formats numbers such as {@code INV-2026-000123} from the Postgres sequence
+ * {@code invoice_number_seq} created by the {@code V1} migration.
+ * <p>
+ * Each {@code nextval} reserves a whole block of {@code INCREMENT BY} values
+ * for this node, which are then handed out from memory, so the database is
+ * visited once per block rather than once per invoice. Blocks never overlap
+ * between nodes; values left in a block when a node stops are skipped.
+ * Numbers run on across years, only the year in the prefix changes.
+ */
+@Component
+@Slf4j
+public class PooledInvoiceNumberSequencer implements InvoiceNumberSequencer {
+
+    private static final String NEXT_BLOCK_SQL = "SELECT nextval('invoice_number_seq') AS first_value, " +
+            "(SELECT increment_by FROM pg_sequences WHERE sequencename = 'invoice_number_seq') AS block_size";
+    private static final int MIN_DIGITS = 6;
+
+    private final JdbcTemplate jdbcTemplate;
+    // Not a monitor: fetching a block under synchronized would pin a virtual thread's carrier for the query
+    private final ReentrantLock blockLock = new ReentrantLock();
+
+    private long nextValue;
+    private long blockEnd;
+    private volatile YearPrefix currentPrefix;
+
+    public PooledInvoiceNumberSequencer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String next() {
+        String prefix = yearPrefix();
+        String digits = Long.toString(nextValue());
+        StringBuilder number = new StringBuilder(prefix.length() + Math.max(MIN_DIGITS, digits.length()))
+                .append(prefix);
+        for (int i = digits.length(); i < MIN_DIGITS; i++) {
+            number.append('0');
+        }
+        return number.append(digits).toString();
+    }
+
+    private long nextValue() {
+        blockLock.lock();
+        try {
+            if (nextValue == blockEnd) {
+                // The block size is read with every block, so ALTER SEQUENCE takes effect without a restart
+                jdbcTemplate.query(NEXT_BLOCK_SQL, rs -> {
+                    nextValue = rs.getLong("first_value");
+                    blockEnd = nextValue + rs.getLong("block_size");
+                });
+                log.debug("Reserved invoice numbers {} to {}", nextValue, blockEnd - 1);
+            }
+            return nextValue++;
+        } finally {
+            blockLock.unlock();
+        }
+    }
+
+    // The prefix only changes at new year, so it is built once rather than formatted per invoice
+    private String yearPrefix() {
+        int year = LocalDate.now().getYear();
+        YearPrefix current = currentPrefix;
+        if (current == null || current.year() != year) {
+            current = new YearPrefix(year, "INV-" + year + "-");
+            currentPrefix = current;
+        }
+        return current.text();
+    }
+
+    private record YearPrefix(int year, String text) {
+    }
+}
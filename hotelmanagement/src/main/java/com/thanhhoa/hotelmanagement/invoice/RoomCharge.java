@@ -0,0 +1,12 @@
+package com.thanhhoa.hotelmanagement.invoice;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A room held by a reservation and not billed yet, priced per night from its
+ * room type. {@code reservationRoomId} is the row that records the billing.
+ */
+public record RoomCharge(Long reservationRoomId, Long reservationId, Long roomId, String roomNumber, String roomTypeName,
+        BigDecimal pricePerNight, LocalDate checkIn, LocalDate checkOut) {
+}
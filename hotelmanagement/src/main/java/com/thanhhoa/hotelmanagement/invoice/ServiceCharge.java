@@ -0,0 +1,12 @@
+package com.thanhhoa.hotelmanagement.invoice;
+
+import java.math.BigDecimal;
+
+/**
+ * A service booked on a reservation and not billed yet, with the total agreed
+ * when it was added. {@code reservationServiceId} is the row that records the
+ * billing.
+ */
+public record ServiceCharge(Long reservationServiceId, Long reservationId, Long serviceId, String serviceName, BigDecimal unitPrice,
+        Integer quantity, BigDecimal totalPrice) {
+}
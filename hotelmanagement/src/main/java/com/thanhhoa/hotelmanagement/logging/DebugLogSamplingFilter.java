@@ -0,0 +1,48 @@
+package com.thanhhoa.hotelmanagement.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the requests whose debug logs are kept. A sampled request is marked in
+ * the MDC for its whole duration, so {@link SampledDebugTurboFilter} lets
+ * through all of its debug lines rather than a random scattering of them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DebugLogSamplingFilter extends OncePerRequestFilter {
+
+    public static final String MDC_KEY = "debugSampled";
+
+    private final double sampleRate;
+
+    public DebugLogSamplingFilter(@Value("${hotel.logging.debug-sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(request, response);
+            return;
+        }
+        MDC.put(MDC_KEY, "true");
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.thanhhoa.hotelmanagement.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Lets debug events of loggers under {@code loggerPrefix} through, whatever
+ * their level, while the current request was picked by
+ * {@link DebugLogSamplingFilter}. Every other event is left to the logger's
+ * level, so a level lowered at runtime through {@code /actuator/loggers} takes
+ * effect for all threads, sampled or not, and a logger raised to WARN or above
+ * stays quiet in sampled requests too. Turbo filters run before the level check
+ * and before the message is formatted, and also answer
+ * {@code isDebugEnabled()}, so an unsampled event costs one MDC lookup.
+ * <p>
+ * Installed by {@code logback-spring.xml} in the {@code prod} profile, where
+ * the application loggers stay at INFO.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "";
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        if (level == null || level.levelInt != Level.DEBUG_INT || MDC.get(DebugLogSamplingFilter.MDC_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!logger.getName().startsWith(loggerPrefix) || logger.getEffectiveLevel().levelInt > Level.INFO_INT) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.ACCEPT;
+    }
+}
@@ -3,7 +3,11 @@ package com.thanhhoa.hotelmanagement.mapper;
 import com.thanhhoa.hotelmanagement.dto.request.*;
 import com.thanhhoa.hotelmanagement.dto.response.*;
 import com.thanhhoa.hotelmanagement.entity.*;
+import com.thanhhoa.hotelmanagement.repository.InvoiceRepository.InvoiceDetailView;
+import com.thanhhoa.hotelmanagement.repository.InvoiceRepository.InvoiceView;
+import com.thanhhoa.hotelmanagement.repository.RoomRepository.RoomView;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
@@ -85,6 +89,18 @@ public class EntityMapper {
                         .collect(Collectors.toList()));
     }
 
+    public RoomResponse toResponse(RoomView room, List<RoomImageResponse> images) {
+        return new RoomResponse(
+                room.getId(),
+                room.getRoomNumber(),
+                new RoomTypeResponse(room.getRoomTypeId(), room.getRoomTypeName(),
+                        room.getRoomTypeDescription(), room.getPricePerNight()),
+                room.getRoomStatus(),
+                room.getFloor(),
+                room.getNote(),
+                images);
+    }
+
     public RoomImageResponse toResponse(RoomImage image) {
         return new RoomImageResponse(
                 image.getId(),
@@ -98,23 +114,19 @@ public class EntityMapper {
 
     // Reservation mappings
     public ReservationResponse toResponse(Reservation reservation) {
+        return toResponse(reservation, reservation.getReservationRooms().stream()
+                .map(ReservationRoom::getRoom)
+                .collect(Collectors.toList()));
+    }
+
+    public ReservationResponse toResponse(Reservation reservation, List<Room> rooms) {
         return new ReservationResponse(
                 reservation.getId(),
                 new GuestResponse(reservation.getGuest().getId(), reservation.getGuest().getFullName(),
                         reservation.getGuest().getKeycloakUserId(), reservation.getGuest().getCreatedAt(),
                         reservation.getGuest().getUpdatedAt()),
-                reservation.getReservationRooms().stream()
-                        .map(room -> new RoomResponse(room.getRoom().getId(), room.getRoom().getRoomNumber(),
-                                new RoomTypeResponse(room.getRoom().getRoomType().getId(),
-                                        room.getRoom().getRoomType().getName(),
-                                        room.getRoom().getRoomType().getDescription(),
-                                        room.getRoom().getRoomType().getPricePerNight()),
-                                room.getRoom().getRoomStatus(), room.getRoom().getFloor(), room.getRoom().getNote(),
-                                room.getRoom().getImages().stream()
-                                        .map(image -> new RoomImageResponse(image.getId(), image.getRoom().getId(),
-                                                image.getImageUrl(), image.getDescription(), image.getIsPrimary(),
-                                                image.getDisplayOrder(), image.getCreatedAt()))
-                                        .collect(Collectors.toList())))
+                rooms.stream()
+                        .map(this::toResponse)
                         .collect(Collectors.toList()),
                 reservation.getCheckIn(),
                 reservation.getCheckOut(),
@@ -169,6 +181,33 @@ public class EntityMapper {
                 invoice.getCreatedAt());
     }
 
+    public InvoiceResponse toResponse(InvoiceView invoice, List<InvoiceDetailResponse> details) {
+        return new InvoiceResponse(
+                invoice.getId(),
+                invoice.getInvoiceNumber(),
+                invoice.getReservationId(),
+                invoice.getPaymentId(),
+                invoice.getKeycloakUserId(),
+                invoice.getIssueDate(),
+                invoice.getTotalAmount(),
+                invoice.getTax(),
+                invoice.getDiscount(),
+                invoice.getFinalAmount(),
+                details,
+                invoice.getCreatedAt());
+    }
+
+    public InvoiceDetailResponse toResponse(InvoiceDetailView detail) {
+        return new InvoiceDetailResponse(
+                detail.getId(),
+                detail.getItemType(),
+                detail.getItemId(),
+                detail.getDescription(),
+                detail.getQuantity(),
+                detail.getUnitPrice(),
+                detail.getTotalPrice());
+    }
+
     // AuditLog mappings
     public AuditLogResponse toResponse(AuditLog auditLog) {
         return new AuditLogResponse(
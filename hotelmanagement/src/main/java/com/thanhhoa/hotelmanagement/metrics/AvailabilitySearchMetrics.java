@@ -0,0 +1,34 @@
+package com.thanhhoa.hotelmanagement.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency of date-range availability searches, tagged by what answered them:
+ * the in-memory occupancy index or the database fallback. A rising share of
+ * {@code source=database} means searches fall outside the index horizon or the
+ * index has not loaded.
+ */
+@Component
+public class AvailabilitySearchMetrics {
+
+    private final Timer indexSearches;
+    private final Timer databaseSearches;
+
+    public AvailabilitySearchMetrics(MeterRegistry meterRegistry) {
+        this.indexSearches = timer(meterRegistry, "index");
+        this.databaseSearches = timer(meterRegistry, "database");
+    }
+
+    public void record(Timer.Sample sample, boolean answeredByIndex) {
+        sample.stop(answeredByIndex ? indexSearches : databaseSearches);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("hotel.availability.search")
+                .description("Room availability searches for a date range")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
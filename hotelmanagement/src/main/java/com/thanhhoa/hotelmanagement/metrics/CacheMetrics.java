@@ -0,0 +1,33 @@
+package com.thanhhoa.hotelmanagement.metrics;
+
+import com.thanhhoa.hotelmanagement.cache.ReferenceDataCache;
+import com.thanhhoa.hotelmanagement.dto.response.CacheRegionStatisticsResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit ratio of each second-level cache region since startup, the same figure
+ * {@code GET /api/cache/statistics} reports. Raw hit, miss and put counts come
+ * from the Hibernate metrics Spring Boot binds as
+ * {@code hibernate.second.level.cache.*}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetrics implements MeterBinder {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        referenceDataCache.getRegionNames().forEach(region -> Gauge
+                .builder("hotel.cache.hit.ratio", referenceDataCache, cache -> cache.getStatistics(region)
+                        .map(CacheRegionStatisticsResponse::hitRatio)
+                        .orElse(Double.NaN))
+                .description("Share of second-level cache lookups answered from the cache")
+                .tag("region", region)
+                .register(registry));
+    }
+}
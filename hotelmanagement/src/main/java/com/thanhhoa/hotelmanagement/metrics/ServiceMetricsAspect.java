@@ -0,0 +1,75 @@
+package com.thanhhoa.hotelmanagement.metrics;
+
+import com.thanhhoa.hotelmanagement.audit.Auditable;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times service calls. Every public method of a {@code @Service} bean feeds
+ * {@code hotel.service.invocations}, tagged with the service and method;
+ * methods marked {@link Auditable} also feed {@code hotel.audited.operations},
+ * tagged with the audited action and entity. Both run outside the
+ * transaction, so the time includes the commit.
+ * <p>
+ * Percentile histograms for these timers are switched on in
+ * {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final String SERVICE_TIMER = "hotel.service.invocations";
+    private static final String AUDITED_TIMER = "hotel.audited.operations";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.thanhhoa.hotelmanagement.service..*(..)) "
+            + "&& @within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = Tags.of(
+                "service", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getSignature().getName());
+        return time(joinPoint, SERVICE_TIMER, "Service method calls", tags);
+    }
+
+    // Reads the annotation rather than binding it: at the highest precedence this advice runs
+    // before the invocation is exposed, so Spring has no match to bind arguments from
+    @Around("@annotation(com.thanhhoa.hotelmanagement.audit.Auditable)")
+    public Object timeAudited(ProceedingJoinPoint joinPoint) throws Throwable {
+        Auditable auditable = ((MethodSignature) joinPoint.getSignature()).getMethod().getAnnotation(Auditable.class);
+        Tags tags = Tags.of("action", auditable.action(), "entity", auditable.entity());
+        return time(joinPoint, AUDITED_TIMER, "Audited operations by action and entity", tags);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name, String description, Tags tags)
+            throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "failure";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .description(description)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.thanhhoa.hotelmanagement.outbox;
+
+import com.thanhhoa.hotelmanagement.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers outbox events to their {@link OutboxHandler}s.
+ * <p>
+ * A single dispatcher thread claims due events in one short statement and
+ * hands them to a fixed pool of workers; it never claims more than the workers
+ * can take, so events waiting in memory stay few. A claim is a lease of
+ * {@code lease-seconds}: events held by a node that dies are claimed again
+ * once it runs out. Failed events are retried with exponential backoff and
+ * marked {@code FAILED} after {@code max-attempts}. The dispatcher polls every
+ * {@code poll-interval-ms} and is woken straight away by commits on this node
+ * that publish events.
+ * <p>
+ * Workers are virtual threads when {@code spring.threads.virtual.enabled} is
+ * set on Java 21 or newer; there are still only {@code worker-threads} of
+ * them, so handlers see the same concurrency either way. The dispatcher
+ * itself stays a platform thread, it spends its life parked between polls.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher implements SmartLifecycle {
+
+    // Stop after the web server, before the audit log writer flushes for the last time
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 3072;
+    private static final long MAX_BACKOFF_SECONDS = 600;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxEventRepository repository;
+    private final Map<String, OutboxHandler> handlers;
+    private final TransactionTemplate transaction;
+    private final int workerThreads;
+    private final boolean virtualWorkers;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final long retentionHours;
+    private final long shutdownTimeoutMillis;
+
+    private final Semaphore capacity;
+    private volatile boolean running;
+    private volatile Thread dispatcherThread;
+    private ExecutorService workers;
+
+    public OutboxDispatcher(OutboxEventRepository repository, List<OutboxHandler> handlers,
+            PlatformTransactionManager transactionManager, Environment environment,
+            @Value("${hotel.outbox.worker-threads:4}") int workerThreads,
+            @Value("${hotel.outbox.batch-size:50}") int batchSize,
+            @Value("${hotel.outbox.poll-interval-ms:1000}") long pollIntervalMillis,
+            @Value("${hotel.outbox.lease-seconds:300}") long leaseSeconds,
+            @Value("${hotel.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${hotel.outbox.retention-hours:168}") long retentionHours,
+            @Value("${hotel.outbox.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        this.repository = repository;
+        this.handlers = handlers.stream().collect(Collectors.toMap(OutboxHandler::eventType, Function.identity()));
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.workerThreads = workerThreads;
+        this.virtualWorkers = Threading.VIRTUAL.isActive(environment);
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis);
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.retentionHours = retentionHours;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.capacity = new Semaphore(batchSize);
+    }
+
+    /**
+     * Makes the dispatcher look for due events now instead of at its next poll.
+     */
+    public void wakeUp() {
+        Thread thread = dispatcherThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hotel.outbox.cleanup-interval-ms:3600000}")
+    public void purgeProcessed() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transaction.execute(status -> repository.deleteDoneBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} processed outbox events older than {}", deleted, cutoff);
+        }
+    }
+
+    @Override
+    public void start() {
+        workers = Executors.newFixedThreadPool(workerThreads, workerThreadFactory());
+        running = true;
+        Thread thread = new Thread(this::dispatchLoop, "outbox-dispatcher");
+        thread.setDaemon(true);
+        dispatcherThread = thread;
+        thread.start();
+        log.info("Outbox dispatcher started: {} {} workers, handlers for {}", workerThreads,
+                virtualWorkers ? "virtual" : "platform", handlers.keySet());
+    }
+
+    private ThreadFactory workerThreadFactory() {
+        if (virtualWorkers) {
+            return new VirtualThreadTaskExecutor("outbox-worker-").getVirtualThreadFactory();
+        }
+        AtomicInteger workerCount = new AtomicInteger();
+        return runnable -> {
+            Thread worker = new Thread(runnable, "outbox-worker-" + workerCount.incrementAndGet());
+            worker.setDaemon(true);
+            return worker;
+        };
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = dispatcherThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeoutMillis);
+            workers.shutdown();
+            // Events still running when this gives up are claimed again once their lease ends
+            if (!workers.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Outbox workers did not finish within {} ms", shutdownTimeoutMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dispatcherThread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            int free = capacity.availablePermits();
+            List<OutboxMessage> claimed = free == 0 ? List.of() : claim(free);
+            if (claimed.isEmpty()) {
+                // Woken early by a publishing commit or a worker freeing up
+                LockSupport.parkNanos(pollIntervalNanos);
+                continue;
+            }
+            for (OutboxMessage message : claimed) {
+                capacity.acquireUninterruptibly();
+                workers.execute(() -> {
+                    try {
+                        process(message);
+                    } finally {
+                        capacity.release();
+                        wakeUp();
+                    }
+                });
+            }
+        }
+        log.info("Outbox dispatcher stopped");
+    }
+
+    private List<OutboxMessage> claim(int max) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            return repository.claimDue(Math.min(max, batchSize), now, now.plusSeconds(leaseSeconds));
+        } catch (RuntimeException e) {
+            log.warn("Failed to claim outbox events, retrying after the poll interval", e);
+            return List.of();
+        }
+    }
+
+    private void process(OutboxMessage message) {
+        OutboxHandler handler = handlers.get(message.eventType());
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("No outbox handler for event type " + message.eventType());
+            }
+            transaction.executeWithoutResult(status -> {
+                handler.handle(message);
+                repository.markDone(message.id(), LocalDateTime.now());
+            });
+        } catch (RuntimeException e) {
+            recordFailure(message, e);
+        }
+    }
+
+    private void recordFailure(OutboxMessage message, RuntimeException failure) {
+        String error = failure.toString();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        String lastError = error;
+        try {
+            if (message.attempts() >= maxAttempts) {
+                log.error("Outbox event {} ({}) failed for the last time after {} attempts", message.id(),
+                        message.eventType(), message.attempts(), failure);
+                transaction.executeWithoutResult(
+                        status -> repository.markFailed(message.id(), LocalDateTime.now(), lastError));
+            } else {
+                long backoffSeconds = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(message.attempts() - 1, 20));
+                log.warn("Outbox event {} ({}) failed on attempt {}, retrying in {} s", message.id(),
+                        message.eventType(), message.attempts(), backoffSeconds, failure);
+                transaction.executeWithoutResult(status -> repository.retryAt(message.id(),
+                        LocalDateTime.now().plusSeconds(backoffSeconds), lastError));
+            }
+        } catch (RuntimeException e) {
+            // The lease still runs out, so the event is retried either way
+            log.error("Failed to record the failure of outbox event {}", message.id(), e);
+        }
+    }
+}
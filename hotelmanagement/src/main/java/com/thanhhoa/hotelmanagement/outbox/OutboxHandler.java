@@ -0,0 +1,13 @@
+package com.thanhhoa.hotelmanagement.outbox;
+
+/**
+ * Processes one type of outbox event. Runs in its own transaction, which also
+ * marks the event done. Delivery is at least once, so handlers must tolerate
+ * seeing the same event again.
+ */
+public interface OutboxHandler {
+
+    String eventType();
+
+    void handle(OutboxMessage message);
+}
@@ -0,0 +1,8 @@
+package com.thanhhoa.hotelmanagement.outbox;
+
+/**
+ * A claimed outbox event as handed to its {@link OutboxHandler}. {@code attempts}
+ * counts this delivery.
+ */
+public record OutboxMessage(Long id, String eventType, Long aggregateId, String payload, int attempts) {
+}
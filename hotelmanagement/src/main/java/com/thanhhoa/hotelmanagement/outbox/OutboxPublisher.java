@@ -0,0 +1,43 @@
+package com.thanhhoa.hotelmanagement.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thanhhoa.hotelmanagement.entity.OutboxEvent;
+import com.thanhhoa.hotelmanagement.repository.OutboxEventRepository;
+import com.thanhhoa.hotelmanagement.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records side effects to run after the current transaction commits. The event
+ * row is written in the caller's transaction, so it exists exactly when the
+ * change that caused it does.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository repository;
+    private final OutboxDispatcher dispatcher;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, Long aggregateId, Object payload) {
+        repository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .payload(toJson(payload))
+                .build());
+        AfterCommit.run(dispatcher::wakeUp);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable: " + payload, e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.thanhhoa.hotelmanagement.outbox;
+
+public record PaymentCompletedEvent(Long paymentId, Long reservationId) {
+
+    public static final String TYPE = "PAYMENT_COMPLETED";
+}
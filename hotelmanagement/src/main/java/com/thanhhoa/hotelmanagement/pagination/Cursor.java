@@ -0,0 +1,34 @@
+package com.thanhhoa.hotelmanagement.pagination;
+
+import com.thanhhoa.hotelmanagement.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort key and id of the last row of the previous
+ * page. Lists ordered by id alone leave the sort key empty.
+ */
+public record Cursor(String sortKey, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static Cursor ofId(long id) {
+        return new Cursor("", id);
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new Cursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid page cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
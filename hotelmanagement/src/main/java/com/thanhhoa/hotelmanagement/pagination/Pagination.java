@@ -0,0 +1,41 @@
+package com.thanhhoa.hotelmanagement.pagination;
+
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for keyset pages. Queries fetch one row more than the page size so
+ * the last page is recognised without an extra round trip.
+ */
+public final class Pagination {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private Pagination() {
+    }
+
+    public static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    public static long afterId(String after) {
+        return after == null ? 0L : Cursor.decode(after).id();
+    }
+
+    public static <T> PageResponse<T> page(List<T> rows, int pageSize, Function<T, Cursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new PageResponse<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, pageSize));
+        return new PageResponse<>(items, cursorOf.apply(items.get(pageSize - 1)).encode());
+    }
+}
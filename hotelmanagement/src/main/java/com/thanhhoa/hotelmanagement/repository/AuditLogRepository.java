@@ -1,15 +1,23 @@
 package com.thanhhoa.hotelmanagement.repository;
 
+import com.thanhhoa.hotelmanagement.dto.response.AuditLogResponse;
 import com.thanhhoa.hotelmanagement.entity.AuditLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
     List<AuditLog> findByUserId(UUID userId);
 
     List<AuditLog> findByEntity(String entity);
@@ -18,5 +26,32 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     List<AuditLog> findByStatus(String status);
 
-    List<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
+    // A bare range on the partition key, so Postgres scans only the monthly partitions it overlaps
+    @Query("SELECT a FROM AuditLog a WHERE a.timestamp BETWEEN :start AND :end ORDER BY a.timestamp, a.id")
+    List<AuditLog> findByTimestampBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Forward-only cursor for exports; the caller must hold a transaction and detach rows as it goes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM AuditLog a WHERE a.timestamp >= :from AND a.timestamp < :to ORDER BY a.timestamp, a.id")
+    Stream<AuditLog> streamByTimestampRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.thanhhoa.hotelmanagement.dto.response.AuditLogResponse(" +
+            "a.id, a.userId, a.userRole, a.action, a.entity, a.entityId, a.description, a.status, " +
+            "a.ipAddress, a.timestamp) " +
+            "FROM AuditLog a ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLogResponse> findLatestResponses(Limit limit);
+
+    @Query("SELECT new com.thanhhoa.hotelmanagement.dto.response.AuditLogResponse(" +
+            "a.id, a.userId, a.userRole, a.action, a.entity, a.entityId, a.description, a.status, " +
+            "a.ipAddress, a.timestamp) " +
+            "FROM AuditLog a " +
+            // The row comparison is one range on idx_audit_timestamp (timestamp, id); the redundant
+            // bound on the partition key lets the planner skip newer partitions
+            "WHERE (a.timestamp, a.id) < (:timestamp, :id) AND a.timestamp <= :timestamp " +
+            "ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLogResponse> findResponsesBefore(@Param("timestamp") LocalDateTime timestamp,
+            @Param("id") Long id, Limit limit);
 }
@@ -0,0 +1,13 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.audit.AuditEvent;
+
+import java.util.Collection;
+
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Inserts the events in a single JDBC batch outside any JPA persistence context.
+     */
+    void insertAll(Collection<AuditEvent> events);
+}
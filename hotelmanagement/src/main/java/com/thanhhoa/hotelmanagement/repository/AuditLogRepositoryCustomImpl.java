@@ -0,0 +1,35 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.audit.AuditEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class AuditLogRepositoryCustomImpl implements AuditLogRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs " +
+            "(user_id, user_role, action, entity, entity_id, description, status, ip_address, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Collection<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new ArrayList<>(events), events.size(), (ps, event) -> {
+            ps.setObject(1, event.userId());
+            ps.setString(2, event.userRole());
+            ps.setString(3, event.action());
+            ps.setString(4, event.entity());
+            ps.setObject(5, event.entityId(), Types.BIGINT);
+            ps.setString(6, event.description());
+            ps.setString(7, event.status());
+            ps.setString(8, event.ipAddress());
+            ps.setTimestamp(9, Timestamp.valueOf(event.timestamp()));
+        });
+    }
+}
@@ -1,9 +1,14 @@
 package com.thanhhoa.hotelmanagement.repository;
 
+import com.thanhhoa.hotelmanagement.dto.response.GuestResponse;
 import com.thanhhoa.hotelmanagement.entity.Guest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,4 +21,9 @@ public interface GuestRepository extends JpaRepository<Guest, Long> {
     boolean existsByEmail(String email);
 
     boolean existsByKeycloakUserId(UUID keycloakUserId);
+
+    @Query("SELECT new com.thanhhoa.hotelmanagement.dto.response.GuestResponse(" +
+            "g.id, g.fullName, g.keycloakUserId, g.createdAt, g.updatedAt) " +
+            "FROM Guest g WHERE g.id > :afterId ORDER BY g.id")
+    List<GuestResponse> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
 }
@@ -0,0 +1,36 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByScopeAndIdempotencyKey(String scope, String idempotencyKey);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.thanhhoa.hotelmanagement.entity.IdempotencyStatus.COMPLETED, " +
+            "r.responseStatus = :responseStatus, r.responseBody = :responseBody, r.completedAt = :completedAt " +
+            "WHERE r.id = :id")
+    int complete(@Param("id") Long id, @Param("responseStatus") int responseStatus,
+            @Param("responseBody") String responseBody, @Param("completedAt") LocalDateTime completedAt);
+
+    // Succeeds for exactly one caller when a claim has outlived its lease
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.createdAt = :now " +
+            "WHERE r.id = :id AND r.status = com.thanhhoa.hotelmanagement.entity.IdempotencyStatus.IN_PROGRESS " +
+            "AND r.createdAt < :expiredBefore")
+    int reclaimExpired(@Param("id") Long id, @Param("now") LocalDateTime now,
+            @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
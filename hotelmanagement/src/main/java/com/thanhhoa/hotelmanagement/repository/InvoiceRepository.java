@@ -1,14 +1,64 @@
 package com.thanhhoa.hotelmanagement.repository;
 
 import com.thanhhoa.hotelmanagement.entity.Invoice;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, InvoiceRepositoryCustom {
+
+    interface InvoiceView {
+        Long getId();
+
+        String getInvoiceNumber();
+
+        Long getReservationId();
+
+        Long getPaymentId();
+
+        UUID getKeycloakUserId();
+
+        LocalDateTime getIssueDate();
+
+        BigDecimal getTotalAmount();
+
+        BigDecimal getTax();
+
+        BigDecimal getDiscount();
+
+        BigDecimal getFinalAmount();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface InvoiceDetailView {
+        Long getInvoiceId();
+
+        Long getId();
+
+        String getItemType();
+
+        Long getItemId();
+
+        String getDescription();
+
+        Integer getQuantity();
+
+        BigDecimal getUnitPrice();
+
+        BigDecimal getTotalPrice();
+    }
+
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
 
     Optional<Invoice> findByPaymentId(Long paymentId);
@@ -16,4 +66,19 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     List<Invoice> findByReservationId(Long reservationId);
 
     boolean existsByInvoiceNumber(String invoiceNumber);
+
+    boolean existsByPaymentId(Long paymentId);
+
+    @Query("SELECT i.id AS id, i.invoiceNumber AS invoiceNumber, i.reservation.id AS reservationId, " +
+            "p.id AS paymentId, s.keycloakUserId AS keycloakUserId, i.issueDate AS issueDate, " +
+            "i.totalAmount AS totalAmount, i.tax AS tax, i.discount AS discount, i.finalAmount AS finalAmount, " +
+            "i.createdAt AS createdAt " +
+            "FROM Invoice i LEFT JOIN i.payment p LEFT JOIN i.staff s WHERE i.id > :afterId ORDER BY i.id")
+    List<InvoiceView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT d.invoice.id AS invoiceId, d.id AS id, d.itemType AS itemType, d.itemId AS itemId, " +
+            "d.description AS description, d.quantity AS quantity, d.unitPrice AS unitPrice, " +
+            "d.totalPrice AS totalPrice " +
+            "FROM InvoiceDetail d WHERE d.invoice.id IN :invoiceIds ORDER BY d.invoice.id, d.id")
+    List<InvoiceDetailView> findDetailViewsByInvoiceIds(@Param("invoiceIds") Collection<Long> invoiceIds);
 }
@@ -0,0 +1,20 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.invoice.InvoiceLine;
+
+import java.util.List;
+import java.util.Map;
+
+public interface InvoiceRepositoryCustom {
+
+    /**
+     * Inserts the lines of many invoices in a single JDBC batch, keyed by invoice id.
+     */
+    void insertDetails(Map<Long, List<InvoiceLine>> linesByInvoiceId);
+
+    /**
+     * Records each line's invoice on the reservation room or service it bills,
+     * in one JDBC batch per table, so no later invoice bills it again.
+     */
+    void markBilled(Map<Long, List<InvoiceLine>> linesByInvoiceId);
+}
@@ -0,0 +1,47 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.invoice.InvoiceLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class InvoiceRepositoryCustomImpl implements InvoiceRepositoryCustom {
+
+    private static final String INSERT_DETAIL_SQL = "INSERT INTO invoice_details " +
+            "(invoice_id, item_type, item_id, description, quantity, unit_price, total_price) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String BILL_ROOM_SQL = "UPDATE reservation_rooms SET invoice_id = ? WHERE id = ?";
+    private static final String BILL_SERVICE_SQL = "UPDATE reservation_services SET invoice_id = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertDetails(Map<Long, List<InvoiceLine>> linesByInvoiceId) {
+        List<Object[]> rows = new ArrayList<>();
+        linesByInvoiceId.forEach((invoiceId, lines) -> lines.forEach(line -> rows.add(new Object[] {
+                invoiceId, line.itemType(), line.itemId(), line.description(), line.quantity(),
+                line.unitPrice(), line.totalPrice() })));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DETAIL_SQL, rows);
+        }
+    }
+
+    @Override
+    public void markBilled(Map<Long, List<InvoiceLine>> linesByInvoiceId) {
+        List<Object[]> rooms = new ArrayList<>();
+        List<Object[]> services = new ArrayList<>();
+        linesByInvoiceId.forEach((invoiceId, lines) -> lines.forEach(line ->
+                (InvoiceLine.ROOM.equals(line.itemType()) ? rooms : services)
+                        .add(new Object[] { invoiceId, line.chargeId() })));
+        if (!rooms.isEmpty()) {
+            jdbcTemplate.batchUpdate(BILL_ROOM_SQL, rooms);
+        }
+        if (!services.isEmpty()) {
+            jdbcTemplate.batchUpdate(BILL_SERVICE_SQL, services);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventRepositoryCustom {
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.thanhhoa.hotelmanagement.entity.OutboxStatus.DONE, " +
+            "e.processedAt = :processedAt, e.lastError = NULL WHERE e.id = :id")
+    int markDone(@Param("id") Long id, @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.availableAt = :availableAt, e.lastError = :error WHERE e.id = :id")
+    int retryAt(@Param("id") Long id, @Param("availableAt") LocalDateTime availableAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.thanhhoa.hotelmanagement.entity.OutboxStatus.FAILED, " +
+            "e.processedAt = :processedAt, e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("processedAt") LocalDateTime processedAt,
+            @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.thanhhoa.hotelmanagement.entity.OutboxStatus.DONE " +
+            "AND e.processedAt < :cutoff")
+    int deleteDoneBefore(@Param("cutoff") LocalDateTime cutoff);
+}
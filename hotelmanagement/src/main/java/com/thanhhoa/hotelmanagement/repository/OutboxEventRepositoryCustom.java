@@ -0,0 +1,16 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.outbox.OutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepositoryCustom {
+
+    /**
+     * Claims up to {@code max} due events, oldest first, by moving their
+     * {@code available_at} to {@code leaseUntil}. Rows another dispatcher is
+     * claiming at the same moment are skipped rather than waited for.
+     */
+    List<OutboxMessage> claimDue(int max, LocalDateTime now, LocalDateTime leaseUntil);
+}
@@ -0,0 +1,33 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.outbox.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCustom {
+
+    private static final String CLAIM_SQL = "UPDATE outbox_events o SET available_at = ?, attempts = o.attempts + 1 " +
+            "FROM (SELECT id FROM outbox_events WHERE status = 'PENDING' AND available_at <= ? " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) claimed " +
+            "WHERE o.id = claimed.id " +
+            "RETURNING o.id, o.event_type, o.aggregate_id, o.payload, o.attempts";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<OutboxMessage> claimDue(int max, LocalDateTime now, LocalDateTime leaseUntil) {
+        List<OutboxMessage> claimed = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new OutboxMessage(rs.getLong("id"), rs.getString("event_type"),
+                        rs.getObject("aggregate_id", Long.class), rs.getString("payload"), rs.getInt("attempts")),
+                Timestamp.valueOf(leaseUntil), Timestamp.valueOf(now), max);
+        // RETURNING does not keep the subquery's order
+        claimed.sort(Comparator.comparing(OutboxMessage::id));
+        return claimed;
+    }
+}
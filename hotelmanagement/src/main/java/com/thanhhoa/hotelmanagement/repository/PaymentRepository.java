@@ -1,15 +1,25 @@
 package com.thanhhoa.hotelmanagement.repository;
 
+import com.thanhhoa.hotelmanagement.dto.response.PaymentResponse;
 import com.thanhhoa.hotelmanagement.entity.Payment;
 import com.thanhhoa.hotelmanagement.entity.PaymentStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
     List<Payment> findByReservationId(Long reservationId);
 
     List<Payment> findByStatus(PaymentStatus status);
+
+    @Query("SELECT new com.thanhhoa.hotelmanagement.dto.response.PaymentResponse(" +
+            "p.id, p.reservation.id, p.amount, p.method, p.transactionCode, p.paymentDate) " +
+            "FROM Payment p WHERE p.id > :afterId ORDER BY p.id")
+    List<PaymentResponse> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
 }
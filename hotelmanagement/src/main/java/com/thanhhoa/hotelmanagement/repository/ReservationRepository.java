@@ -3,39 +3,77 @@ package com.thanhhoa.hotelmanagement.repository;
 import com.thanhhoa.hotelmanagement.entity.Reservation;
 import com.thanhhoa.hotelmanagement.entity.ReservationRoom;
 import com.thanhhoa.hotelmanagement.entity.ReservationStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
-        boolean existsByKeycloakUserId(UUID keycloakUserId);
+        @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.guest.keycloakUserId = :keycloakUserId")
+        boolean existsByKeycloakUserId(@Param("keycloakUserId") UUID keycloakUserId);
 
-        List<Reservation> findByKeycloakUserId(UUID keycloakUserId);
+        @EntityGraph(Reservation.DETAIL_GRAPH)
+        @Query("SELECT r FROM Reservation r WHERE r.guest.keycloakUserId = :keycloakUserId")
+        List<Reservation> findByKeycloakUserId(@Param("keycloakUserId") UUID keycloakUserId);
 
-        List<ReservationRoom> findByRoomId(Long roomId);
+        @Query("SELECT r.id FROM Reservation r WHERE r.id > :afterId ORDER BY r.id")
+        List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
 
-        List<ReservationRoom> findByReservationStatus(ReservationStatus status);
+        // Paged by id first so the collection fetch in the graph never paginates in memory
+        @EntityGraph(Reservation.DETAIL_GRAPH)
+        @Query("SELECT r FROM Reservation r WHERE r.id IN :ids ORDER BY r.id")
+        List<Reservation> findAllDetailedByIdIn(@Param("ids") Collection<Long> ids);
+
+        @EntityGraph(Reservation.DETAIL_GRAPH)
+        Optional<Reservation> findDetailedById(Long id);
+
+        // Bounded below as well, so idx_reservations_billable_check_out is scanned for a window, not all history
+        @Query("SELECT r.id FROM Reservation r WHERE r.id > :afterId AND r.checkOut > :since " +
+                        "AND r.checkOut <= :date AND r.status IN :statuses " +
+                        "AND (EXISTS (SELECT rr.id FROM ReservationRoom rr WHERE rr.reservation = r AND rr.invoice IS NULL) " +
+                        "OR EXISTS (SELECT rs.id FROM ReservationService rs WHERE rs.reservation = r AND rs.invoice IS NULL)) " +
+                        "ORDER BY r.id")
+        List<Long> findUnbilledIdsCheckingOutBetween(
+                        @Param("since") LocalDate since,
+                        @Param("date") LocalDate date,
+                        @Param("statuses") Collection<ReservationStatus> statuses,
+                        @Param("afterId") Long afterId,
+                        Limit limit);
+
+        // Invoicing holds these until commit; locks are taken in id order so concurrent batches cannot deadlock
+        @Query(value = "SELECT id FROM reservations WHERE id IN :ids ORDER BY id FOR UPDATE", nativeQuery = true)
+        List<Long> lockIdsForInvoicing(@Param("ids") Collection<Long> ids);
+
+        @Query("SELECT rr FROM ReservationRoom rr WHERE rr.room.id = :roomId")
+        List<ReservationRoom> findByRoomId(@Param("roomId") Long roomId);
+
+        @Query("SELECT rr FROM ReservationRoom rr WHERE rr.reservation.status = :status")
+        List<ReservationRoom> findByReservationStatus(@Param("status") ReservationStatus status);
 
         @Query("SELECT r FROM Reservation r WHERE r.checkIn BETWEEN :startDate AND :endDate")
         List<Reservation> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
-        @Query("SELECT r FROM Reservation r " +
-                        "JOIN r.reservationRooms rr " +
-                        "WHERE rr.room.id = :roomId " +
-                        "AND r.status NOT IN ('CANCELLED', 'CHECKED_OUT') " +
-                        "AND ((r.checkIn BETWEEN :checkIn AND :checkOut) " +
-                        "OR (r.checkOut BETWEEN :checkIn AND :checkOut) " +
-                        "OR (r.checkIn <= :checkIn AND r.checkOut >= :checkOut))")
+        // Served by the ex_reservation_rooms_no_overlap GiST index; stay is NULL for inactive reservations
+        @Query(value = "SELECT r.* FROM reservations r " +
+                        "JOIN reservation_rooms rr ON rr.reservation_id = r.id " +
+                        "WHERE rr.room_id = :roomId " +
+                        "AND rr.stay && daterange(CAST(:checkIn AS date), CAST(:checkOut AS date))", nativeQuery = true)
         List<Reservation> findConflictingReservations(
                         @Param("roomId") Long roomId,
                         @Param("checkIn") LocalDate checkIn,
                         @Param("checkOut") LocalDate checkOut);
 
-        void deleteById(UUID keycloakUserId);
+        // Deletes through the entities so reservation rooms, services and staff cascade
+        default void deleteById(UUID keycloakUserId) {
+                deleteAll(findByKeycloakUserId(keycloakUserId));
+        }
 }
@@ -1,19 +1,63 @@
 package com.thanhhoa.hotelmanagement.repository;
 
+import com.thanhhoa.hotelmanagement.availability.ReservationChange;
+import com.thanhhoa.hotelmanagement.availability.RoomOccupancy;
 import com.thanhhoa.hotelmanagement.entity.ReservationRoom;
+import com.thanhhoa.hotelmanagement.entity.ReservationStatus;
+import com.thanhhoa.hotelmanagement.invoice.RoomCharge;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ReservationRoomRepository extends JpaRepository<ReservationRoom, Long> {
+public interface ReservationRoomRepository extends JpaRepository<ReservationRoom, Long>, ReservationRoomRepositoryCustom {
     List<ReservationRoom> findByReservationId(Long reservationId);
 
+    @Query("SELECT new com.thanhhoa.hotelmanagement.invoice.RoomCharge(rr.id, r.id, room.id, room.roomNumber, " +
+            "rt.name, rt.pricePerNight, r.checkIn, r.checkOut) " +
+            "FROM ReservationRoom rr JOIN rr.reservation r JOIN rr.room room JOIN room.roomType rt " +
+            "WHERE r.id IN :reservationIds AND rr.invoice IS NULL ORDER BY r.id, room.id")
+    List<RoomCharge> findUnbilledRoomCharges(@Param("reservationIds") Collection<Long> reservationIds);
+
     List<ReservationRoom> findByRoomId(Long roomId);
 
     Optional<ReservationRoom> findByReservationIdAndRoomId(Long reservationId, Long roomId);
 
     void deleteByReservationIdAndRoomId(Long reservationId, Long roomId);
+
+    @Query("SELECT new com.thanhhoa.hotelmanagement.availability.RoomOccupancy(rr.room.id, r.checkIn, r.checkOut) " +
+            "FROM ReservationRoom rr JOIN rr.reservation r " +
+            "WHERE r.status NOT IN :inactiveStatuses AND r.checkOut > :from")
+    List<RoomOccupancy> findActiveOccupancies(
+            @Param("from") LocalDate from,
+            @Param("inactiveStatuses") Collection<ReservationStatus> inactiveStatuses);
+
+    @Query("SELECT new com.thanhhoa.hotelmanagement.availability.RoomOccupancy(rr.room.id, r.checkIn, r.checkOut) " +
+            "FROM ReservationRoom rr JOIN rr.reservation r " +
+            "WHERE rr.room.id IN :roomIds AND r.status NOT IN :inactiveStatuses AND r.checkOut > :from")
+    List<RoomOccupancy> findActiveOccupanciesOfRooms(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("from") LocalDate from,
+            @Param("inactiveStatuses") Collection<ReservationStatus> inactiveStatuses);
+
+    // Served by idx_reservations_updated_at
+    @Query("SELECT new com.thanhhoa.hotelmanagement.availability.ReservationChange(r.id, r.updatedAt, rr.room.id) " +
+            "FROM ReservationRoom rr JOIN rr.reservation r WHERE r.updatedAt > :since")
+    List<ReservationChange> findChangesSince(@Param("since") LocalDateTime since);
+
+    // Served by the ex_reservation_rooms_no_overlap GiST index; stay is NULL for inactive reservations
+    @Query(value = "SELECT DISTINCT rr.room_id FROM reservation_rooms rr " +
+            "WHERE rr.room_id IN (:roomIds) " +
+            "AND rr.stay && daterange(CAST(:checkIn AS date), CAST(:checkOut AS date))", nativeQuery = true)
+    List<Long> findConflictingRoomIds(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut);
 }
@@ -0,0 +1,11 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import java.util.Collection;
+
+public interface ReservationRoomRepositoryCustom {
+
+    /**
+     * Links every room to the reservation in a single JDBC batch.
+     */
+    void insertAll(Long reservationId, Collection<Long> roomIds);
+}
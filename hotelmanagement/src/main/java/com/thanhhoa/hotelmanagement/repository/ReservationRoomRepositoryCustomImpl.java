@@ -0,0 +1,24 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class ReservationRoomRepositoryCustomImpl implements ReservationRoomRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO reservation_rooms (reservation_id, room_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Long reservationId, Collection<Long> roomIds) {
+        List<Object[]> rows = roomIds.stream()
+                .map(roomId -> new Object[] { reservationId, roomId })
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
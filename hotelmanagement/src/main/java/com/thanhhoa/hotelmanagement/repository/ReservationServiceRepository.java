@@ -1,9 +1,13 @@
 package com.thanhhoa.hotelmanagement.repository;
 
 import com.thanhhoa.hotelmanagement.entity.ReservationService;
+import com.thanhhoa.hotelmanagement.invoice.ServiceCharge;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +15,12 @@ import java.util.Optional;
 public interface ReservationServiceRepository extends JpaRepository<ReservationService, Long> {
     List<ReservationService> findByReservationId(Long reservationId);
 
+    @Query("SELECT new com.thanhhoa.hotelmanagement.invoice.ServiceCharge(rs.id, rs.reservation.id, s.id, s.name, " +
+            "s.price, rs.quantity, rs.totalPrice) " +
+            "FROM ReservationService rs JOIN rs.service s " +
+            "WHERE rs.reservation.id IN :reservationIds AND rs.invoice IS NULL ORDER BY rs.reservation.id, rs.id")
+    List<ServiceCharge> findUnbilledServiceCharges(@Param("reservationIds") Collection<Long> reservationIds);
+
     List<ReservationService> findByServiceId(Long serviceId);
 
     Optional<ReservationService> findByReservationIdAndServiceId(Long reservationId, Long serviceId);
@@ -1,9 +1,13 @@
 package com.thanhhoa.hotelmanagement.repository;
 
+import com.thanhhoa.hotelmanagement.dto.response.RoomImageResponse;
 import com.thanhhoa.hotelmanagement.entity.RoomImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +18,14 @@ public interface RoomImageRepository extends JpaRepository<RoomImage, Long> {
     Optional<RoomImage> findByRoomIdAndIsPrimaryTrue(Long roomId);
 
     void deleteByRoomId(Long roomId);
+
+    @Query("SELECT new com.thanhhoa.hotelmanagement.dto.response.RoomImageResponse(" +
+            "i.id, i.room.id, i.imageUrl, i.description, i.isPrimary, i.displayOrder, i.createdAt) " +
+            "FROM RoomImage i WHERE i.room.id IN :roomIds ORDER BY i.room.id, i.displayOrder")
+    List<RoomImageResponse> findResponsesByRoomIds(@Param("roomIds") Collection<Long> roomIds);
+
+    @Query("SELECT new com.thanhhoa.hotelmanagement.dto.response.RoomImageResponse(" +
+            "i.id, i.room.id, i.imageUrl, i.description, i.isPrimary, i.displayOrder, i.createdAt) " +
+            "FROM RoomImage i ORDER BY i.room.id, i.displayOrder")
+    List<RoomImageResponse> findAllResponses();
 }
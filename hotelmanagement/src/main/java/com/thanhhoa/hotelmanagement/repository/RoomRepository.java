@@ -2,17 +2,43 @@ package com.thanhhoa.hotelmanagement.repository;
 
 import com.thanhhoa.hotelmanagement.entity.Room;
 import com.thanhhoa.hotelmanagement.entity.RoomStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
+
+    interface RoomView {
+        Long getId();
+
+        String getRoomNumber();
+
+        Long getRoomTypeId();
+
+        String getRoomTypeName();
+
+        String getRoomTypeDescription();
+
+        BigDecimal getPricePerNight();
+
+        RoomStatus getRoomStatus();
+
+        Integer getFloor();
+
+        String getNote();
+    }
+
     Optional<Room> findById(Long id);
 
     Optional<Room> findByRoomNumber(String roomNumber);
@@ -25,12 +51,49 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
     List<Room> findByFloor(Integer floor);
 
+    String ROOM_VIEW_SELECT = "SELECT r.id AS id, r.roomNumber AS roomNumber, rt.id AS roomTypeId, " +
+            "rt.name AS roomTypeName, rt.description AS roomTypeDescription, rt.pricePerNight AS pricePerNight, " +
+            "r.roomStatus AS roomStatus, r.floor AS floor, r.note AS note " +
+            "FROM Room r JOIN r.roomType rt ";
+
+    @Query(ROOM_VIEW_SELECT + "WHERE r.id > :afterId ORDER BY r.id")
+    List<RoomView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(ROOM_VIEW_SELECT + "WHERE r.id IN :ids ORDER BY r.id")
+    List<RoomView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<Room> findByIdInAndRoomStatus(Collection<Long> ids, RoomStatus status);
+
+    @Query("SELECT r.id FROM Room r")
+    List<Long> findAllIds();
+
+    // Locks are taken in id order so concurrent group bookings cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id IN :ids ORDER BY r.id")
+    List<Room> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT r.* FROM rooms r " +
+            "WHERE r.room_type_id = :roomTypeId AND r.room_status = 'AVAILABLE' " +
+            "AND NOT EXISTS (" +
+            "  SELECT 1 FROM reservation_rooms rr " +
+            "  WHERE rr.room_id = r.id " +
+            "  AND rr.stay && daterange(CAST(:checkIn AS date), CAST(:checkOut AS date))" +
+            ") " +
+            "ORDER BY r.id LIMIT :count " +
+            "FOR UPDATE OF r SKIP LOCKED", nativeQuery = true)
+    List<Room> lockAvailableRoomsOfType(
+            @Param("roomTypeId") Long roomTypeId,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut,
+            @Param("count") int count);
+
     @Query("SELECT DISTINCT r FROM Room r " +
-            "WHERE r.roomStatus = 'AVAILABLE' " +
+            "WHERE r.roomStatus = com.thanhhoa.hotelmanagement.entity.RoomStatus.AVAILABLE " +
             "AND r.id NOT IN (" +
             "  SELECT rr.room.id FROM ReservationRoom rr " +
-            "  WHERE rr.reservation.status NOT IN ('CANCELLED', 'CHECKED_OUT') " +
-            "  AND ((rr.reservation.checkIn <= :checkOut AND rr.reservation.checkOut >= :checkIn))" +
+            "  WHERE rr.reservation.status NOT IN (com.thanhhoa.hotelmanagement.entity.ReservationStatus.CANCELLED, " +
+            "  com.thanhhoa.hotelmanagement.entity.ReservationStatus.CHECKED_OUT) " +
+            "  AND rr.reservation.checkIn < :checkOut AND rr.reservation.checkOut > :checkIn" +
             ")")
     List<Room> findAvailableRooms(@Param("checkIn") LocalDate checkIn, @Param("checkOut") LocalDate checkOut);
 }
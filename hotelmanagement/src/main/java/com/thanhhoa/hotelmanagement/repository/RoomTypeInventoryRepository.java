@@ -0,0 +1,77 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.entity.RoomTypeInventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomTypeInventoryRepository extends JpaRepository<RoomTypeInventory, Long> {
+
+    interface NightInventoryView {
+        Long getRoomTypeId();
+
+        String getRoomTypeName();
+
+        LocalDate getNight();
+
+        Integer getCapacity();
+
+        Integer getSold();
+    }
+
+    /**
+     * Whole calendar for every room type in one statement. Nights without a
+     * ledger row fall back to the current room count and nothing sold.
+     */
+    @Query(value = "SELECT rt.id AS roomTypeId, rt.name AS roomTypeName, CAST(n.night AS date) AS night, " +
+            "COALESCE(i.capacity, (SELECT COUNT(*) FROM rooms r WHERE r.room_type_id = rt.id)) AS capacity, " +
+            "COALESCE(i.sold, 0) AS sold " +
+            "FROM room_types rt " +
+            "CROSS JOIN generate_series(CAST(:from AS date), CAST(:to AS date) - 1, INTERVAL '1 day') AS n(night) " +
+            "LEFT JOIN room_type_inventory i ON i.room_type_id = rt.id AND i.night = CAST(n.night AS date) " +
+            "ORDER BY rt.id, n.night", nativeQuery = true)
+    List<NightInventoryView> findCalendar(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO room_type_inventory (room_type_id, night, capacity, sold) " +
+            "SELECT :roomTypeId, CAST(n.night AS date), " +
+            "(SELECT COUNT(*) FROM rooms r WHERE r.room_type_id = :roomTypeId), GREATEST(:delta, 0) " +
+            "FROM generate_series(CAST(:from AS date), CAST(:to AS date) - 1, INTERVAL '1 day') AS n(night) " +
+            "ON CONFLICT (room_type_id, night) " +
+            "DO UPDATE SET sold = GREATEST(room_type_inventory.sold + :delta, 0)", nativeQuery = true)
+    int adjustSold(@Param("roomTypeId") Long roomTypeId, @Param("delta") int delta,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("UPDATE RoomTypeInventory i SET i.capacity = i.capacity + :delta " +
+            "WHERE i.roomType.id = :roomTypeId AND i.night >= :from")
+    int adjustCapacity(@Param("roomTypeId") Long roomTypeId, @Param("delta") int delta,
+            @Param("from") LocalDate from);
+
+    @Modifying
+    @Query("UPDATE RoomTypeInventory i SET i.sold = 0 WHERE i.night >= :from")
+    int resetSold(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = "INSERT INTO room_type_inventory (room_type_id, night, capacity, sold) " +
+            "SELECT rm.room_type_id, CAST(n.night AS date), " +
+            "(SELECT COUNT(*) FROM rooms r WHERE r.room_type_id = rm.room_type_id), COUNT(*) " +
+            "FROM reservations res " +
+            "JOIN reservation_rooms rr ON rr.reservation_id = res.id " +
+            "JOIN rooms rm ON rm.id = rr.room_id " +
+            "CROSS JOIN LATERAL generate_series(GREATEST(res.check_in, CAST(:from AS date)), res.check_out - 1, " +
+            "INTERVAL '1 day') AS n(night) " +
+            "WHERE res.status NOT IN (:inactiveStatuses) AND res.check_out > :from " +
+            "GROUP BY rm.room_type_id, CAST(n.night AS date) " +
+            "ON CONFLICT (room_type_id, night) " +
+            "DO UPDATE SET sold = EXCLUDED.sold, capacity = EXCLUDED.capacity", nativeQuery = true)
+    int rebuildSold(@Param("from") LocalDate from,
+            @Param("inactiveStatuses") Collection<Integer> inactiveStatuses);
+}
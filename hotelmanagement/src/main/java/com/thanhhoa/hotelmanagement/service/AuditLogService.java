@@ -1,29 +1,46 @@
 package com.thanhhoa.hotelmanagement.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thanhhoa.hotelmanagement.audit.AuditExportFormat;
+import com.thanhhoa.hotelmanagement.audit.AuditLogExportWriter;
+import com.thanhhoa.hotelmanagement.datasource.Workload;
 import com.thanhhoa.hotelmanagement.dto.response.AuditLogResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.entity.AuditLog;
 import com.thanhhoa.hotelmanagement.entity.AuditStatus;
+import com.thanhhoa.hotelmanagement.exception.BusinessException;
 import com.thanhhoa.hotelmanagement.exception.ResourceNotFoundException;
 import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
+import com.thanhhoa.hotelmanagement.pagination.Cursor;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.repository.AuditLogRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
+@Workload(Workload.Type.REPORTING)
 public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
     private final EntityMapper mapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     public AuditLogResponse getAuditLogById(Long id) {
         log.debug("Fetching audit log with ID: {}", id);
@@ -32,11 +49,28 @@ public class AuditLogService {
         return mapper.toResponse(auditLog);
     }
 
-    public List<AuditLogResponse> getAllAuditLogs() {
-        log.debug("Fetching all audit logs");
-        return auditLogRepository.findAll().stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+    // Newest first, keyed on (timestamp, id) so rows written during paging are not skipped or repeated
+    public PageResponse<AuditLogResponse> getAllAuditLogs(String after, int limit) {
+        log.debug("Fetching audit logs after cursor: {}", after);
+        int pageSize = Pagination.pageSize(limit);
+        List<AuditLogResponse> logs;
+        if (after == null) {
+            logs = auditLogRepository.findLatestResponses(Pagination.fetchLimit(pageSize));
+        } else {
+            Cursor cursor = Cursor.decode(after);
+            logs = auditLogRepository.findResponsesBefore(parseTimestamp(cursor), cursor.id(),
+                    Pagination.fetchLimit(pageSize));
+        }
+        return Pagination.page(logs, pageSize,
+                auditLog -> new Cursor(auditLog.timestamp().toString(), auditLog.id()));
+    }
+
+    private LocalDateTime parseTimestamp(Cursor cursor) {
+        try {
+            return LocalDateTime.parse(cursor.sortKey());
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid page cursor", e);
+        }
     }
 
     public List<AuditLogResponse> getAuditLogsByUserId(Long userId) {
@@ -73,4 +107,33 @@ public class AuditLogService {
                 .map(mapper::toResponse)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Writes every audit log in [from, to) to {@code out}, oldest first. Rows are read
+     * through a server-side cursor and detached once written, so memory stays flat
+     * however long the range is.
+     */
+    public long exportAuditLogs(LocalDateTime from, LocalDateTime to, AuditExportFormat format, OutputStream out)
+            throws IOException {
+        validateExportRange(from, to);
+        long rows = 0;
+        try (Stream<AuditLog> auditLogs = auditLogRepository.streamByTimestampRange(from, to);
+                AuditLogExportWriter writer = new AuditLogExportWriter(format, out, objectMapper)) {
+            Iterator<AuditLog> iterator = auditLogs.iterator();
+            while (iterator.hasNext()) {
+                AuditLog auditLog = iterator.next();
+                writer.write(mapper.toResponse(auditLog));
+                entityManager.detach(auditLog);
+                rows++;
+            }
+        }
+        log.info("Exported {} audit logs between {} and {} as {}", rows, from, to, format);
+        return rows;
+    }
+
+    public void validateExportRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BusinessException("Export range start must be before its end");
+        }
+    }
 }
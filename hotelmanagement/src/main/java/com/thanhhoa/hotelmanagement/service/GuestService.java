@@ -1,13 +1,17 @@
 package com.thanhhoa.hotelmanagement.service;
 
 import com.thanhhoa.hotelmanagement.audit.Auditable;
+import com.thanhhoa.hotelmanagement.audit.Auditable.IdSource;
 import com.thanhhoa.hotelmanagement.dto.request.GuestRequest;
 import com.thanhhoa.hotelmanagement.dto.response.GuestResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.entity.Guest;
 import com.thanhhoa.hotelmanagement.entity.User;
 import com.thanhhoa.hotelmanagement.exception.DuplicateResourceException;
 import com.thanhhoa.hotelmanagement.exception.ResourceNotFoundException;
 import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
+import com.thanhhoa.hotelmanagement.pagination.Cursor;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.repository.GuestRepository;
 import com.thanhhoa.hotelmanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +21,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -64,14 +67,15 @@ public class GuestService {
     }
 
     @Transactional(readOnly = true)
-    public List<GuestResponse> getAllGuests() {
-        log.debug("Fetching all guests");
-        return guestRepository.findAll().stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+    public PageResponse<GuestResponse> getAllGuests(String after, int limit) {
+        log.debug("Fetching guests after cursor: {}", after);
+        int pageSize = Pagination.pageSize(limit);
+        List<GuestResponse> guests = guestRepository.findResponsesAfter(
+                Pagination.afterId(after), Pagination.fetchLimit(pageSize));
+        return Pagination.page(guests, pageSize, guest -> Cursor.ofId(guest.id()));
     }
 
-    @Auditable(action = "UPDATE", entity = "GUEST")
+    @Auditable(action = "UPDATE", entity = "GUEST", idSource = IdSource.ARGUMENT)
     public GuestResponse updateGuest(Long id, GuestRequest request) {
         log.debug("Updating guest with ID: {}", id);
 
@@ -87,7 +91,7 @@ public class GuestService {
         return mapper.toResponse(updatedGuest);
     }
 
-    @Auditable(action = "DELETE", entity = "GUEST")
+    @Auditable(action = "DELETE", entity = "GUEST", idSource = IdSource.ARGUMENT)
     public void deleteGuest(Long id) {
         log.debug("Deleting guest with ID: {}", id);
 
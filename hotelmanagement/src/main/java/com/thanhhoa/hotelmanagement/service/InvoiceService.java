@@ -1,16 +1,23 @@
 package com.thanhhoa.hotelmanagement.service;
 
+import com.thanhhoa.hotelmanagement.dto.response.InvoiceDetailResponse;
 import com.thanhhoa.hotelmanagement.dto.response.InvoiceResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.entity.Invoice;
 import com.thanhhoa.hotelmanagement.exception.ResourceNotFoundException;
 import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
+import com.thanhhoa.hotelmanagement.pagination.Cursor;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.repository.InvoiceRepository;
+import com.thanhhoa.hotelmanagement.repository.InvoiceRepository.InvoiceDetailView;
+import com.thanhhoa.hotelmanagement.repository.InvoiceRepository.InvoiceView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,10 +50,20 @@ public class InvoiceService {
         return mapper.toResponse(invoice);
     }
 
-    public List<InvoiceResponse> getAllInvoices() {
-        log.debug("Fetching all invoices");
-        return invoiceRepository.findAll().stream()
-                .map(mapper::toResponse)
+    public PageResponse<InvoiceResponse> getAllInvoices(String after, int limit) {
+        log.debug("Fetching invoices after cursor: {}", after);
+        int pageSize = Pagination.pageSize(limit);
+        List<InvoiceView> invoices = invoiceRepository.findViewsAfter(
+                Pagination.afterId(after), Pagination.fetchLimit(pageSize));
+        Map<Long, List<InvoiceDetailResponse>> detailsByInvoice = invoices.isEmpty() ? Map.of()
+                : invoiceRepository.findDetailViewsByInvoiceIds(invoices.stream().map(InvoiceView::getId).toList())
+                        .stream()
+                        .collect(Collectors.groupingBy(InvoiceDetailView::getInvoiceId,
+                                Collectors.mapping(mapper::toResponse, Collectors.toList())));
+        List<InvoiceResponse> responses = invoices.stream()
+                .map(invoice -> mapper.toResponse(invoice,
+                        detailsByInvoice.getOrDefault(invoice.getId(), List.of())))
                 .collect(Collectors.toList());
+        return Pagination.page(responses, pageSize, invoice -> Cursor.ofId(invoice.id()));
     }
 }
@@ -1,13 +1,19 @@
 package com.thanhhoa.hotelmanagement.service;
 
 import com.thanhhoa.hotelmanagement.audit.Auditable;
+import com.thanhhoa.hotelmanagement.audit.Auditable.IdSource;
+import com.thanhhoa.hotelmanagement.datasource.Workload;
 import com.thanhhoa.hotelmanagement.dto.request.PaymentRequest;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.dto.response.PaymentResponse;
 import com.thanhhoa.hotelmanagement.entity.*;
 import com.thanhhoa.hotelmanagement.exception.BusinessException;
 import com.thanhhoa.hotelmanagement.exception.ResourceNotFoundException;
 import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
-import com.thanhhoa.hotelmanagement.repository.InvoiceRepository;
+import com.thanhhoa.hotelmanagement.outbox.OutboxPublisher;
+import com.thanhhoa.hotelmanagement.outbox.PaymentCompletedEvent;
+import com.thanhhoa.hotelmanagement.pagination.Cursor;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.repository.PaymentRepository;
 import com.thanhhoa.hotelmanagement.repository.ReservationRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,8 +21,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,8 +32,8 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final ReservationRepository reservationRepository;
-    private final InvoiceRepository invoiceRepository;
     private final EntityMapper mapper;
+    private final OutboxPublisher outboxPublisher;
 
     @Auditable(action = "CREATE", entity = "PAYMENT")
     public PaymentResponse createPayment(PaymentRequest request) {
@@ -49,7 +53,7 @@ public class PaymentService {
             reservation.setStatus(ReservationStatus.CONFIRMED);
             reservationRepository.save(reservation);
 
-            generateInvoice(savedPayment);
+            publishPaymentCompleted(savedPayment);
         }
 
         log.info("Payment created successfully with ID: {}", savedPayment.getId());
@@ -57,6 +61,7 @@ public class PaymentService {
     }
 
     @Transactional(readOnly = true)
+    @Workload(Workload.Type.BOOKING)
     public PaymentResponse getPaymentById(Long id) {
         log.debug("Fetching payment with ID: {}", id);
         Payment payment = paymentRepository.findById(id)
@@ -65,14 +70,16 @@ public class PaymentService {
     }
 
     @Transactional(readOnly = true)
-    public List<PaymentResponse> getAllPayments() {
-        log.debug("Fetching all payments");
-        return paymentRepository.findAll().stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+    public PageResponse<PaymentResponse> getAllPayments(String after, int limit) {
+        log.debug("Fetching payments after cursor: {}", after);
+        int pageSize = Pagination.pageSize(limit);
+        List<PaymentResponse> payments = paymentRepository.findResponsesAfter(
+                Pagination.afterId(after), Pagination.fetchLimit(pageSize));
+        return Pagination.page(payments, pageSize, payment -> Cursor.ofId(payment.id()));
     }
 
     @Transactional(readOnly = true)
+    @Workload(Workload.Type.BOOKING)
     public List<PaymentResponse> getPaymentsByReservationId(Long reservationId) {
         log.debug("Fetching payments for reservation ID: {}", reservationId);
         return paymentRepository.findByReservationId(reservationId).stream()
@@ -88,7 +95,7 @@ public class PaymentService {
                 .collect(Collectors.toList());
     }
 
-    @Auditable(action = "UPDATE", entity = "PAYMENT")
+    @Auditable(action = "UPDATE", entity = "PAYMENT", idSource = IdSource.ARGUMENT)
     public PaymentResponse updatePayment(Long id, PaymentRequest request) {
         log.debug("Updating payment with ID: {}", id);
 
@@ -112,14 +119,14 @@ public class PaymentService {
             reservation.setStatus(ReservationStatus.CONFIRMED);
             reservationRepository.save(reservation);
 
-            generateInvoice(updatedPayment);
+            publishPaymentCompleted(updatedPayment);
         }
 
         log.info("Payment updated successfully with ID: {}", updatedPayment.getId());
         return mapper.toResponse(updatedPayment);
     }
 
-    @Auditable(action = "COMPLETE", entity = "PAYMENT")
+    @Auditable(action = "COMPLETE", entity = "PAYMENT", idSource = IdSource.ARGUMENT)
     public PaymentResponse completePayment(Long id) {
         log.debug("Completing payment with ID: {}", id);
 
@@ -137,36 +144,19 @@ public class PaymentService {
         reservation.setStatus(ReservationStatus.CONFIRMED);
         reservationRepository.save(reservation);
 
-        generateInvoice(completedPayment);
+        publishPaymentCompleted(completedPayment);
 
         log.info("Payment completed successfully with ID: {}", completedPayment.getId());
         return mapper.toResponse(completedPayment);
     }
 
-    private void generateInvoice(Payment payment) {
-        if (invoiceRepository.findByPaymentId(payment.getId()).isPresent()) {
-            log.debug("Invoice already exists for payment ID: {}", payment.getId());
-            return;
-        }
-
-        String invoiceNumber = generateInvoiceNumber();
-
-        Invoice invoice = Invoice.builder()
-                .payment(payment)
-                .invoiceNumber(invoiceNumber)
-                .totalAmount(payment.getAmount())
-                .build();
-
-        invoiceRepository.save(invoice);
-        log.info("Invoice generated with number: {}", invoiceNumber);
-    }
-
-    private String generateInvoiceNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        return "INV-" + timestamp;
+    // The invoice is issued by the outbox dispatcher once this transaction has committed
+    private void publishPaymentCompleted(Payment payment) {
+        outboxPublisher.publish(PaymentCompletedEvent.TYPE, payment.getId(),
+                new PaymentCompletedEvent(payment.getId(), payment.getReservation().getId()));
     }
 
-    @Auditable(action = "DELETE", entity = "PAYMENT")
+    @Auditable(action = "DELETE", entity = "PAYMENT", idSource = IdSource.ARGUMENT)
     public void deletePayment(Long id) {
         log.debug("Deleting payment with ID: {}", id);
 
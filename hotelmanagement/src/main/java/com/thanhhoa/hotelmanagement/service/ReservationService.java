@@ -1,25 +1,35 @@
 package com.thanhhoa.hotelmanagement.service;
 
 import com.thanhhoa.hotelmanagement.audit.Auditable;
+import com.thanhhoa.hotelmanagement.audit.Auditable.IdSource;
+import com.thanhhoa.hotelmanagement.availability.RoomAvailabilityIndex;
+import com.thanhhoa.hotelmanagement.cache.RoomCatalogCache;
+import com.thanhhoa.hotelmanagement.datasource.Workload;
 import com.thanhhoa.hotelmanagement.dto.request.ReservationRequest;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.dto.response.ReservationResponse;
 import com.thanhhoa.hotelmanagement.entity.*;
 import com.thanhhoa.hotelmanagement.exception.BusinessException;
 import com.thanhhoa.hotelmanagement.exception.ResourceNotFoundException;
 import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
+import com.thanhhoa.hotelmanagement.pagination.Cursor;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.repository.GuestRepository;
 import com.thanhhoa.hotelmanagement.repository.ReservationRepository;
+import com.thanhhoa.hotelmanagement.repository.ReservationRoomRepository;
 import com.thanhhoa.hotelmanagement.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,10 +39,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class ReservationService {
 
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final ReservationRepository reservationRepository;
     private final GuestRepository guestRepository;
     private final RoomRepository roomRepository;
+    private final ReservationRoomRepository reservationRoomRepository;
     private final EntityMapper mapper;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomInventoryService inventoryService;
+    private final RoomCatalogCache roomCatalog;
 
     @Auditable(action = "CREATE", entity = "RESERVATION")
     public ReservationResponse createReservation(ReservationRequest request) {
@@ -45,20 +61,11 @@ public class ReservationService {
             throw new BusinessException("Check-in date must be before check-out date");
         }
 
-        List<ReservationRoom> reservations = reservationRepository.findByRoomId(request.roomIds().get(0));
-
-        long days = ChronoUnit.DAYS.between(request.checkIn(), request.checkOut());
-        List<Room> result = new ArrayList<>(request.roomIds().size());
-        for (Long roomId : request.roomIds()) {
-            Room room = roomRepository.findById(roomId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Room", "id", roomId));
-            room.setRoomStatus(RoomStatus.RESERVED);
-            roomRepository.save(room);
-            result.add(room);
-        }
-        if (result.isEmpty()) {
-            throw new BusinessException("No rooms found");
-        }
+        List<Room> rooms = lockRequestedRooms(request);
+        List<Long> roomIds = rooms.stream()
+                .map(Room::getId)
+                .collect(Collectors.toList());
+        rooms.forEach(room -> room.setRoomStatus(RoomStatus.RESERVED));
 
         Reservation reservation = Reservation.builder()
                 .guest(guest)
@@ -67,16 +74,76 @@ public class ReservationService {
                 .status(request.status() != null ? request.status() : ReservationStatus.PENDING)
                 .totalAmount(BigDecimal.ZERO)
                 .build();
-        Reservation savedReservation = reservationRepository.save(reservation);
-        return mapper.toResponse(savedReservation);
+        // The pooled-lo id needs no INSERT, so flush before reservation_rooms references the row
+        Reservation savedReservation = reservationRepository.saveAndFlush(reservation);
+        try {
+            reservationRoomRepository.insertAll(savedReservation.getId(), roomIds);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new BusinessException("Rooms already reserved for the requested dates", e);
+            }
+            throw e;
+        }
+
+        inventoryService.recordBooking(rooms, request.checkIn(), request.checkOut());
+        availabilityIndex.occupy(roomIds, request.checkIn(), request.checkOut());
+        roomCatalog.invalidate(roomIds);
+        return mapper.toResponse(savedReservation, rooms);
+    }
+
+    /**
+     * Loads and row-locks every room the request asks for in one statement, then
+     * rejects the booking if any of them is already held for an overlapping stay.
+     * Requests by room type skip rooms another booking has locked instead of
+     * waiting on them.
+     */
+    private List<Room> lockRequestedRooms(ReservationRequest request) {
+        if (request.roomIds() != null && !request.roomIds().isEmpty()) {
+            Set<Long> requestedIds = new LinkedHashSet<>(request.roomIds());
+            List<Room> rooms = roomRepository.findAllByIdForUpdate(requestedIds);
+            if (rooms.size() != requestedIds.size()) {
+                Set<Long> foundIds = rooms.stream().map(Room::getId).collect(Collectors.toSet());
+                Long missingId = requestedIds.stream().filter(id -> !foundIds.contains(id)).findFirst().orElse(null);
+                throw new ResourceNotFoundException("Room", "id", missingId);
+            }
+
+            List<Long> conflictingIds = reservationRoomRepository.findConflictingRoomIds(requestedIds,
+                    request.checkIn(), request.checkOut());
+            if (!conflictingIds.isEmpty()) {
+                throw new BusinessException("Rooms already reserved for the requested dates: " + conflictingIds);
+            }
+            return rooms;
+        }
+
+        if (request.roomTypeId() == null) {
+            throw new BusinessException("Either room IDs or a room type is required");
+        }
+
+        int count = request.roomCount() != null ? request.roomCount() : 1;
+        List<Room> rooms = roomRepository.lockAvailableRoomsOfType(request.roomTypeId(), request.checkIn(),
+                request.checkOut(), count);
+        if (rooms.size() < count) {
+            throw new BusinessException("Only " + rooms.size() + " rooms of the requested type are available");
+        }
+        return rooms;
+    }
+
+    // ex_reservation_rooms_no_overlap rejected an overlapping stay for the same room
+    private boolean isExclusionViolation(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && EXCLUSION_VIOLATION.equals(sqlException.getSQLState());
     }
 
     @Transactional(readOnly = true)
-    public List<ReservationResponse> getAllReservations() {
-        log.debug("Fetching all reservations");
-        return reservationRepository.findAll().stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+    public PageResponse<ReservationResponse> getAllReservations(String after, int limit) {
+        log.debug("Fetching reservations after cursor: {}", after);
+        int pageSize = Pagination.pageSize(limit);
+        List<Long> ids = reservationRepository.findIdsAfter(Pagination.afterId(after), Pagination.fetchLimit(pageSize));
+        List<ReservationResponse> reservations = ids.isEmpty() ? List.of()
+                : reservationRepository.findAllDetailedByIdIn(ids).stream()
+                        .map(mapper::toResponse)
+                        .collect(Collectors.toList());
+        return Pagination.page(reservations, pageSize, reservation -> Cursor.ofId(reservation.id()));
     }
 
     @Transactional(readOnly = true)
@@ -149,7 +216,7 @@ public class ReservationService {
     // roomRepository.save(room);
     // }
 
-    @Auditable(action = "CHECK_IN", entity = "RESERVATION")
+    @Auditable(action = "CHECK_IN", entity = "RESERVATION", idSource = IdSource.ARGUMENT)
     public ReservationResponse checkIn(Long id) {
         log.debug("Checking in reservation with ID: {}", id);
 
@@ -171,6 +238,10 @@ public class ReservationService {
         room.setRoomStatus(RoomStatus.OCCUPIED);
         roomRepository.save(room);
 
+        // The booking may have been made through another node, so re-assert its nights here
+        availabilityIndex.occupy(roomIdsOf(reservation), reservation.getCheckIn(), reservation.getCheckOut());
+        roomCatalog.invalidate(room.getId());
+
         Reservation checkedInReservation = reservationRepository.save(reservation);
         log.info("Reservation checked in successfully with ID: {}", checkedInReservation.getId());
         return mapper.toResponse(checkedInReservation);
@@ -211,14 +282,31 @@ public class ReservationService {
             throw new ResourceNotFoundException("Reservation", "id", keycloakUserId);
         }
 
+        for (Reservation reservation : reservationRepository.findByKeycloakUserId(keycloakUserId)) {
+            List<Room> rooms = reservation.getReservationRooms().stream()
+                    .map(ReservationRoom::getRoom)
+                    .collect(Collectors.toList());
+            inventoryService.releaseBooking(rooms, reservation.getCheckIn(), reservation.getCheckOut());
+            availabilityIndex.release(roomIdsOf(reservation), reservation.getCheckIn(), reservation.getCheckOut());
+            // Status is unchanged, but date-based availability served under the catalog ETag is not
+            roomCatalog.invalidate(roomIdsOf(reservation));
+        }
         reservationRepository.deleteById(keycloakUserId);
         log.info("Reservation deleted successfully with ID: {}", keycloakUserId);
     }
 
+    @Transactional(readOnly = true)
+    @Workload(Workload.Type.BOOKING)
     public ReservationResponse getReservationById(Long id) {
         log.debug("Fetching reservation with ID: {}", id);
-        Reservation reservation = reservationRepository.findById(id)
+        Reservation reservation = reservationRepository.findDetailedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", id));
         return mapper.toResponse(reservation);
     }
+
+    private List<Long> roomIdsOf(Reservation reservation) {
+        return reservation.getReservationRooms().stream()
+                .map(reservationRoom -> reservationRoom.getRoom().getId())
+                .collect(Collectors.toList());
+    }
 }
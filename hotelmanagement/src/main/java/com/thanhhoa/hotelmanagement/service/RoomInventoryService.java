@@ -0,0 +1,161 @@
+package com.thanhhoa.hotelmanagement.service;
+
+import com.thanhhoa.hotelmanagement.availability.RoomAvailabilityIndex;
+import com.thanhhoa.hotelmanagement.dto.response.InventoryCalendarResponse;
+import com.thanhhoa.hotelmanagement.dto.response.RoomTypeInventoryResponse;
+import com.thanhhoa.hotelmanagement.entity.ReservationStatus;
+import com.thanhhoa.hotelmanagement.entity.Room;
+import com.thanhhoa.hotelmanagement.exception.BusinessException;
+import com.thanhhoa.hotelmanagement.repository.RoomTypeInventoryRepository;
+import com.thanhhoa.hotelmanagement.repository.RoomTypeInventoryRepository.NightInventoryView;
+import com.thanhhoa.hotelmanagement.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the room_type_inventory ledger of capacity and sold rooms per room
+ * type and night, with a short-lived node-local cache in front of it.
+ * <p>
+ * Ledger updates join the caller's transaction; cached nights touched by a
+ * write are evicted once that transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RoomInventoryService {
+
+    private static final int MAX_CALENDAR_NIGHTS = 366;
+
+    private final RoomTypeInventoryRepository inventoryRepository;
+
+    @Value("${hotel.inventory.cache-ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    private final Map<InventoryKey, CachedNight> cache = new ConcurrentHashMap<>();
+    private final Map<Long, String> roomTypeNames = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        List<Integer> inactiveStatuses = RoomAvailabilityIndex.INACTIVE_STATUSES.stream()
+                .map(ReservationStatus::ordinal)
+                .collect(Collectors.toList());
+
+        inventoryRepository.resetSold(today);
+        int rows = inventoryRepository.rebuildSold(today, inactiveStatuses);
+        AfterCommit.run(cache::clear);
+        log.info("Room type inventory rebuilt from {}: {} room type nights sold", today, rows);
+    }
+
+    @Transactional(readOnly = true)
+    public InventoryCalendarResponse getCalendar(LocalDate from, LocalDate to) {
+        log.debug("Fetching room type inventory between {} and {}", from, to);
+
+        if (!from.isBefore(to)) {
+            throw new BusinessException("Start date must be before end date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_CALENDAR_NIGHTS) {
+            throw new BusinessException("Inventory calendar is limited to " + MAX_CALENDAR_NIGHTS + " nights");
+        }
+
+        List<LocalDate> nights = from.datesUntil(to).collect(Collectors.toList());
+        List<RoomTypeInventoryResponse> cached = fromCache(nights);
+        if (cached != null) {
+            return new InventoryCalendarResponse(nights, cached);
+        }
+
+        long now = System.currentTimeMillis();
+        Map<Long, List<NightInventoryView>> byRoomType = new LinkedHashMap<>();
+        for (NightInventoryView view : inventoryRepository.findCalendar(from, to)) {
+            cache.put(new InventoryKey(view.getRoomTypeId(), view.getNight()),
+                    new CachedNight(view.getCapacity(), view.getSold(), now));
+            roomTypeNames.put(view.getRoomTypeId(), view.getRoomTypeName());
+            byRoomType.computeIfAbsent(view.getRoomTypeId(), id -> new ArrayList<>()).add(view);
+        }
+
+        List<RoomTypeInventoryResponse> roomTypes = byRoomType.values().stream()
+                .map(views -> toResponse(views.get(0).getRoomTypeId(), views.get(0).getRoomTypeName(),
+                        views.stream().map(NightInventoryView::getCapacity).collect(Collectors.toList()),
+                        views.stream().map(NightInventoryView::getSold).collect(Collectors.toList())))
+                .collect(Collectors.toList());
+        return new InventoryCalendarResponse(nights, roomTypes);
+    }
+
+    public void recordBooking(Collection<Room> rooms, LocalDate checkIn, LocalDate checkOut) {
+        adjustSold(rooms, checkIn, checkOut, 1);
+    }
+
+    public void releaseBooking(Collection<Room> rooms, LocalDate checkIn, LocalDate checkOut) {
+        adjustSold(rooms, checkIn, checkOut, -1);
+    }
+
+    public void adjustCapacity(Long roomTypeId, int delta) {
+        inventoryRepository.adjustCapacity(roomTypeId, delta, LocalDate.now());
+        AfterCommit.run(() -> cache.keySet().removeIf(key -> key.roomTypeId().equals(roomTypeId)));
+    }
+
+    private void adjustSold(Collection<Room> rooms, LocalDate checkIn, LocalDate checkOut, int sign) {
+        Map<Long, Long> roomsPerType = rooms.stream()
+                .collect(Collectors.groupingBy(room -> room.getRoomType().getId(), Collectors.counting()));
+
+        roomsPerType.forEach((roomTypeId, count) -> inventoryRepository.adjustSold(roomTypeId,
+                sign * count.intValue(), checkIn, checkOut));
+        AfterCommit.run(() -> checkIn.datesUntil(checkOut).forEach(night -> roomsPerType.keySet()
+                .forEach(roomTypeId -> cache.remove(new InventoryKey(roomTypeId, night)))));
+    }
+
+    // Returns null unless every room type and night is cached and still fresh
+    private List<RoomTypeInventoryResponse> fromCache(List<LocalDate> nights) {
+        if (roomTypeNames.isEmpty()) {
+            return null;
+        }
+
+        long oldest = System.currentTimeMillis() - cacheTtlSeconds * 1000;
+        List<RoomTypeInventoryResponse> roomTypes = new ArrayList<>(roomTypeNames.size());
+        for (Map.Entry<Long, String> roomType : roomTypeNames.entrySet()) {
+            List<Integer> capacity = new ArrayList<>(nights.size());
+            List<Integer> sold = new ArrayList<>(nights.size());
+            for (LocalDate night : nights) {
+                CachedNight entry = cache.get(new InventoryKey(roomType.getKey(), night));
+                if (entry == null || entry.loadedAt() < oldest) {
+                    return null;
+                }
+                capacity.add(entry.capacity());
+                sold.add(entry.sold());
+            }
+            roomTypes.add(toResponse(roomType.getKey(), roomType.getValue(), capacity, sold));
+        }
+        return roomTypes;
+    }
+
+    private RoomTypeInventoryResponse toResponse(Long roomTypeId, String roomTypeName, List<Integer> capacity,
+            List<Integer> sold) {
+        List<Integer> available = new ArrayList<>(capacity.size());
+        for (int i = 0; i < capacity.size(); i++) {
+            available.add(Math.max(0, capacity.get(i) - sold.get(i)));
+        }
+        return new RoomTypeInventoryResponse(roomTypeId, roomTypeName, capacity, sold, available);
+    }
+
+    private record InventoryKey(Long roomTypeId, LocalDate night) {
+    }
+
+    private record CachedNight(int capacity, int sold, long loadedAt) {
+    }
+}
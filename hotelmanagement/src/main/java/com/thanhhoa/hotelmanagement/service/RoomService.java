@@ -1,21 +1,34 @@
 package com.thanhhoa.hotelmanagement.service;
 
 import com.thanhhoa.hotelmanagement.audit.Auditable;
+import com.thanhhoa.hotelmanagement.audit.Auditable.IdSource;
+import com.thanhhoa.hotelmanagement.availability.RoomAvailabilityIndex;
+import com.thanhhoa.hotelmanagement.cache.RoomCatalogCache;
+import com.thanhhoa.hotelmanagement.datasource.Workload;
 import com.thanhhoa.hotelmanagement.dto.request.RoomRequest;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.dto.response.RoomResponse;
 import com.thanhhoa.hotelmanagement.entity.Room;
 import com.thanhhoa.hotelmanagement.entity.RoomStatus;
 import com.thanhhoa.hotelmanagement.entity.RoomType;
+import com.thanhhoa.hotelmanagement.exception.BusinessException;
 import com.thanhhoa.hotelmanagement.exception.DuplicateResourceException;
 import com.thanhhoa.hotelmanagement.exception.ResourceNotFoundException;
 import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
+import com.thanhhoa.hotelmanagement.metrics.AvailabilitySearchMetrics;
+import com.thanhhoa.hotelmanagement.pagination.Cursor;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.repository.RoomRepository;
+import com.thanhhoa.hotelmanagement.repository.RoomTypeRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,7 +38,12 @@ import java.util.stream.Collectors;
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final RoomTypeRepository roomTypeRepository;
     private final EntityMapper mapper;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomInventoryService inventoryService;
+    private final RoomCatalogCache roomCatalog;
+    private final AvailabilitySearchMetrics searchMetrics;
 
     @Auditable(action = "CREATE", entity = "ROOM")
     public RoomResponse createRoom(RoomRequest request) {
@@ -36,13 +54,18 @@ public class RoomService {
         }
 
         Room room = mapper.toEntity(request);
+        room.setRoomType(findRoomType(request.roomTypeId()));
         Room savedRoom = roomRepository.save(room);
+        inventoryService.adjustCapacity(request.roomTypeId(), 1);
+        availabilityIndex.addRoom(savedRoom.getId());
+        roomCatalog.invalidate(savedRoom.getId());
 
         log.info("Room created successfully with ID: {}", savedRoom.getId());
         return mapper.toResponse(savedRoom);
     }
 
     @Transactional(readOnly = true)
+    @Workload(Workload.Type.BOOKING)
     public RoomResponse getRoomById(Long id) {
         log.debug("Fetching room with ID: {}", id);
         Room room = roomRepository.findById(id)
@@ -58,20 +81,33 @@ public class RoomService {
         return mapper.toResponse(room);
     }
 
+    /**
+     * Entity tag of the room catalog the list endpoints are served from. It
+     * changes whenever a room, its status or its bookings change.
+     * <p>
+     * The catalog readers use the booking pool: a reload runs under the lock
+     * every list request waits on, so it must not queue behind reports.
+     */
     @Transactional(readOnly = true)
-    public List<RoomResponse> getAllRooms() {
-        log.debug("Fetching all rooms");
-        return roomRepository.findAll().stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+    @Workload(Workload.Type.BOOKING)
+    public String getRoomCatalogETag() {
+        return roomCatalog.current().eTag();
+    }
+
+    @Transactional(readOnly = true)
+    @Workload(Workload.Type.BOOKING)
+    public PageResponse<RoomResponse> getAllRooms(String after, int limit) {
+        log.debug("Fetching rooms after cursor: {}", after);
+        int pageSize = Pagination.pageSize(limit);
+        List<RoomResponse> rooms = roomCatalog.current().after(Pagination.afterId(after), pageSize + 1);
+        return Pagination.page(rooms, pageSize, room -> Cursor.ofId(room.id()));
     }
 
     @Transactional(readOnly = true)
+    @Workload(Workload.Type.BOOKING)
     public List<RoomResponse> getRoomsByStatus(RoomStatus status) {
         log.debug("Fetching rooms with status: {}", status);
-        return roomRepository.findByRoomStatus(status).stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        return roomCatalog.current().withStatus(status);
     }
 
     @Transactional(readOnly = true)
@@ -83,14 +119,35 @@ public class RoomService {
     }
 
     @Transactional(readOnly = true)
+    @Workload(Workload.Type.BOOKING)
     public List<RoomResponse> getAvailableRooms() {
         log.debug("Fetching available rooms");
-        return roomRepository.findByRoomStatus(RoomStatus.AVAILABLE).stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        return roomCatalog.current().withStatus(RoomStatus.AVAILABLE);
+    }
+
+    @Transactional(readOnly = true)
+    @Workload(Workload.Type.BOOKING)
+    public List<RoomResponse> getAvailableRooms(LocalDate checkIn, LocalDate checkOut) {
+        log.debug("Fetching rooms available between {} and {}", checkIn, checkOut);
+
+        if (!checkIn.isBefore(checkOut)) {
+            throw new BusinessException("Check-in date must be before check-out date");
+        }
+
+        Timer.Sample sample = Timer.start();
+        Optional<List<Long>> indexedRoomIds = availabilityIndex.findAvailableRoomIds(checkIn, checkOut);
+        List<RoomResponse> rooms = indexedRoomIds
+                .map(roomIds -> roomCatalog.current().byIds(roomIds).stream()
+                        .filter(room -> room.roomStatus() == RoomStatus.AVAILABLE)
+                        .collect(Collectors.toList()))
+                .orElseGet(() -> roomRepository.findAvailableRooms(checkIn, checkOut).stream()
+                        .map(mapper::toResponse)
+                        .collect(Collectors.toList()));
+        searchMetrics.record(sample, indexedRoomIds.isPresent());
+        return rooms;
     }
 
-    @Auditable(action = "UPDATE", entity = "ROOM")
+    @Auditable(action = "UPDATE", entity = "ROOM", idSource = IdSource.ARGUMENT)
     public RoomResponse updateRoom(Long id, RoomRequest request) {
         log.debug("Updating room with id: {}", id);
 
@@ -102,18 +159,25 @@ public class RoomService {
             throw new DuplicateResourceException("Room", "roomNumber", request.roomNumber());
         }
 
+        Long previousRoomTypeId = room.getRoomType().getId();
+        if (!previousRoomTypeId.equals(request.roomTypeId())) {
+            inventoryService.adjustCapacity(previousRoomTypeId, -1);
+            inventoryService.adjustCapacity(request.roomTypeId(), 1);
+        }
+
         room.setRoomNumber(request.roomNumber());
-        room.setRoomType(RoomType.builder().id(request.roomTypeId()).build());
+        room.setRoomType(findRoomType(request.roomTypeId()));
         room.setRoomStatus(request.roomStatus());
         room.setFloor(request.floor());
         room.setNote(request.note());
 
         Room updatedRoom = roomRepository.save(room);
+        roomCatalog.invalidate(id);
         log.info("Room updated successfully with ID: {}", updatedRoom.getId());
         return mapper.toResponse(updatedRoom);
     }
 
-    @Auditable(action = "UPDATE_STATUS", entity = "ROOM")
+    @Auditable(action = "UPDATE_STATUS", entity = "ROOM", idSource = IdSource.ARGUMENT)
     public RoomResponse updateRoomStatus(Long id, RoomStatus status) {
         log.debug("Updating room status with ID: {} to {}", id, status);
 
@@ -122,20 +186,29 @@ public class RoomService {
 
         room.setRoomStatus(status);
         Room updatedRoom = roomRepository.save(room);
+        roomCatalog.invalidate(id);
 
         log.info("Room status updated successfully for ID: {}", updatedRoom.getId());
         return mapper.toResponse(updatedRoom);
     }
 
-    @Auditable(action = "DELETE", entity = "ROOM")
+    @Auditable(action = "DELETE", entity = "ROOM", idSource = IdSource.ARGUMENT)
     public void deleteRoom(Long id) {
         log.debug("Deleting room with ID: {}", id);
 
-        if (!roomRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Room", "id", id);
-        }
+        Room room = roomRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Room", "id", id));
 
-        roomRepository.deleteById(id);
+        roomRepository.delete(room);
+        inventoryService.adjustCapacity(room.getRoomType().getId(), -1);
+        availabilityIndex.removeRoom(id);
+        roomCatalog.invalidate(id);
         log.info("Room deleted successfully with ID: {}", id);
     }
+
+    // Served from the second-level cache, so validating the type costs no round trip
+    private RoomType findRoomType(Long roomTypeId) {
+        return roomTypeRepository.findById(roomTypeId)
+                .orElseThrow(() -> new ResourceNotFoundException("RoomType", "id", roomTypeId));
+    }
 }
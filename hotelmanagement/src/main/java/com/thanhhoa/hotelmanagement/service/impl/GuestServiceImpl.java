@@ -1,12 +1,16 @@
 package com.thanhhoa.hotelmanagement.service.impl;
 
 import com.thanhhoa.hotelmanagement.audit.Auditable;
+import com.thanhhoa.hotelmanagement.audit.Auditable.IdSource;
 import com.thanhhoa.hotelmanagement.dto.request.GuestRequest;
 import com.thanhhoa.hotelmanagement.dto.response.GuestResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.entity.Guest;
 import com.thanhhoa.hotelmanagement.exception.DuplicateResourceException;
 import com.thanhhoa.hotelmanagement.exception.ResourceNotFoundException;
 import com.thanhhoa.hotelmanagement.mapper.GuestMapper;
+import com.thanhhoa.hotelmanagement.pagination.Cursor;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
 import com.thanhhoa.hotelmanagement.repository.GuestRepository;
 import com.thanhhoa.hotelmanagement.service.interfaces.IGuestService;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +20,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of IGuestService - Following SOLID principles
@@ -85,15 +88,16 @@ public class GuestServiceImpl implements IGuestService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<GuestResponse> getAllGuests() {
-        log.debug("Fetching all guests");
-        return guestRepository.findAll().stream()
-                .map(guestMapper::toResponse)
-                .collect(Collectors.toList());
+    public PageResponse<GuestResponse> getAllGuests(String after, int limit) {
+        log.debug("Fetching guests after cursor: {}", after);
+        int pageSize = Pagination.pageSize(limit);
+        List<GuestResponse> guests = guestRepository.findResponsesAfter(
+                Pagination.afterId(after), Pagination.fetchLimit(pageSize));
+        return Pagination.page(guests, pageSize, guest -> Cursor.ofId(guest.id()));
     }
 
     @Override
-    @Auditable(action = "UPDATE", entity = "GUEST")
+    @Auditable(action = "UPDATE", entity = "GUEST", idSource = IdSource.ARGUMENT)
     public GuestResponse updateGuest(Long id, GuestRequest request) {
         log.debug("Updating guest with ID: {}", id);
 
@@ -114,7 +118,7 @@ public class GuestServiceImpl implements IGuestService {
     }
 
     @Override
-    @Auditable(action = "DELETE", entity = "GUEST")
+    @Auditable(action = "DELETE", entity = "GUEST", idSource = IdSource.ARGUMENT)
     public void deleteGuest(Long id) {
         log.debug("Deleting guest with ID: {}", id);
 
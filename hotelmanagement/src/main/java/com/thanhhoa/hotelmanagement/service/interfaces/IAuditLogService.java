@@ -1,6 +1,7 @@
 package com.thanhhoa.hotelmanagement.service.interfaces;
 
 import com.thanhhoa.hotelmanagement.dto.response.AuditLogResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,7 +15,7 @@ public interface IAuditLogService {
 
     AuditLogResponse getAuditLogById(Long id);
 
-    List<AuditLogResponse> getAllAuditLogs();
+    PageResponse<AuditLogResponse> getAllAuditLogs(String after, int limit);
 
     List<AuditLogResponse> getAuditLogsByUserId(UUID userId);
 
@@ -2,6 +2,7 @@ package com.thanhhoa.hotelmanagement.service.interfaces;
 
 import com.thanhhoa.hotelmanagement.dto.request.GuestRequest;
 import com.thanhhoa.hotelmanagement.dto.response.GuestResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,7 +22,7 @@ public interface IGuestService {
 
     GuestResponse getGuestByKeycloakUserId(UUID keycloakUserId);
 
-    List<GuestResponse> getAllGuests();
+    PageResponse<GuestResponse> getAllGuests(String after, int limit);
 
     GuestResponse updateGuest(Long id, GuestRequest request);
 
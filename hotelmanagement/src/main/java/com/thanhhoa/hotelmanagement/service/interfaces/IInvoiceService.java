@@ -1,6 +1,7 @@
 package com.thanhhoa.hotelmanagement.service.interfaces;
 
 import com.thanhhoa.hotelmanagement.dto.response.InvoiceResponse;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 
 import java.util.List;
 
@@ -20,7 +21,7 @@ public interface IInvoiceService {
 
     List<InvoiceResponse> getInvoicesByReservationId(Long reservationId);
 
-    List<InvoiceResponse> getAllInvoices();
+    PageResponse<InvoiceResponse> getAllInvoices(String after, int limit);
 
     byte[] generateInvoicePdf(Long invoiceId);
 }
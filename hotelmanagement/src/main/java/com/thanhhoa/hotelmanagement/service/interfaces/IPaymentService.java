@@ -1,6 +1,7 @@
 package com.thanhhoa.hotelmanagement.service.interfaces;
 
 import com.thanhhoa.hotelmanagement.dto.request.PaymentRequest;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.dto.response.PaymentResponse;
 
 import java.util.List;
@@ -14,7 +15,7 @@ public interface IPaymentService {
 
     PaymentResponse getPaymentById(Long id);
 
-    List<PaymentResponse> getAllPayments();
+    PageResponse<PaymentResponse> getAllPayments(String after, int limit);
 
     List<PaymentResponse> getPaymentsByReservationId(Long reservationId);
 
@@ -1,6 +1,7 @@
 package com.thanhhoa.hotelmanagement.service.interfaces;
 
 import com.thanhhoa.hotelmanagement.dto.request.ReservationRequest;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.dto.response.ReservationResponse;
 
 import java.time.LocalDate;
@@ -15,7 +16,7 @@ public interface IReservationService {
 
     ReservationResponse getReservationById(Long id);
 
-    List<ReservationResponse> getAllReservations();
+    PageResponse<ReservationResponse> getAllReservations(String after, int limit);
 
     List<ReservationResponse> getReservationsByGuestId(Long guestId);
 
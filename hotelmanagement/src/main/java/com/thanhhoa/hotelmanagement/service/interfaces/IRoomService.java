@@ -1,6 +1,7 @@
 package com.thanhhoa.hotelmanagement.service.interfaces;
 
 import com.thanhhoa.hotelmanagement.dto.request.RoomRequest;
+import com.thanhhoa.hotelmanagement.dto.response.PageResponse;
 import com.thanhhoa.hotelmanagement.dto.response.RoomResponse;
 
 import java.time.LocalDate;
@@ -17,7 +18,7 @@ public interface IRoomService {
 
     RoomResponse getRoomByNumber(String roomNumber);
 
-    List<RoomResponse> getAllRooms();
+    PageResponse<RoomResponse> getAllRooms(String after, int limit);
 
     List<RoomResponse> getRoomsByType(Long roomTypeId);
 
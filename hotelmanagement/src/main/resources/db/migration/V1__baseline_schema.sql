@@ -0,0 +1,325 @@
+-- Hotel management schema, matching the JPA entities
+-- Written with IF NOT EXISTS throughout, so it can also run against a database
+-- created by the former init scripts; V2 then brings such a database in line.
+
+-- Reference data
+
+CREATE TABLE IF NOT EXISTS room_types (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    description TEXT,
+    price_per_night NUMERIC(10,2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS services (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    description TEXT,
+    price NUMERIC(10,2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS rooms (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    room_number VARCHAR(20) NOT NULL UNIQUE,
+    room_type_id BIGINT NOT NULL REFERENCES room_types(id) ON DELETE RESTRICT,
+    room_status VARCHAR(255) NOT NULL
+        CHECK (room_status IN ('AVAILABLE', 'OCCUPIED', 'MAINTENANCE', 'RESERVED')),
+    floor INTEGER,
+    note TEXT
+);
+
+CREATE TABLE IF NOT EXISTS room_images (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    room_id BIGINT NOT NULL REFERENCES rooms(id) ON DELETE CASCADE,
+    image_url VARCHAR(500) NOT NULL,
+    description TEXT,
+    is_primary BOOLEAN DEFAULT FALSE,
+    display_order INTEGER DEFAULT 0,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+
+-- People
+
+CREATE TABLE IF NOT EXISTS guests (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    phone VARCHAR(20),
+    address TEXT,
+    keycloak_user_id UUID UNIQUE,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS staff (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    position VARCHAR(50),
+    keycloak_user_id UUID UNIQUE,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL CHECK (role IN ('ADMIN', 'STAFF', 'GUEST')),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+-- Bookings
+-- Tables inserted through JPA take ids from sequences that hand out blocks of 50
+-- (allocationSize on the entities, pooled-lo optimizer), so their inserts batch.
+-- Ordinal enum columns: reservations.status 0 PENDING, 1 CONFIRMED, 2 CHECKED_IN,
+-- 3 CHECKED_OUT, 4 CANCELLED; payments.status 0 PENDING, 1 COMPLETED, 2 FAILED, 3 REFUNDED.
+
+CREATE SEQUENCE IF NOT EXISTS reservations_id_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS reservations (
+    id BIGINT PRIMARY KEY DEFAULT nextval('reservations_id_seq'),
+    guest_id BIGINT NOT NULL REFERENCES guests(id) ON DELETE CASCADE,
+    status SMALLINT CHECK (status BETWEEN 0 AND 4),
+    check_in DATE NOT NULL,
+    check_out DATE NOT NULL,
+    total_amount NUMERIC(10,2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+ALTER SEQUENCE reservations_id_seq OWNED BY reservations.id;
+
+CREATE TABLE IF NOT EXISTS reservation_rooms (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    reservation_id BIGINT NOT NULL REFERENCES reservations(id) ON DELETE CASCADE,
+    room_id BIGINT NOT NULL REFERENCES rooms(id) ON DELETE RESTRICT,
+    UNIQUE (reservation_id, room_id)
+);
+
+CREATE TABLE IF NOT EXISTS reservation_staff (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    reservation_id BIGINT NOT NULL REFERENCES reservations(id) ON DELETE CASCADE,
+    staff_id BIGINT NOT NULL REFERENCES staff(id) ON DELETE RESTRICT,
+    UNIQUE (reservation_id, staff_id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS reservation_services_id_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS reservation_services (
+    id BIGINT PRIMARY KEY DEFAULT nextval('reservation_services_id_seq'),
+    reservation_id BIGINT NOT NULL REFERENCES reservations(id) ON DELETE CASCADE,
+    service_id BIGINT NOT NULL REFERENCES services(id) ON DELETE RESTRICT,
+    quantity INTEGER NOT NULL DEFAULT 1,
+    total_price NUMERIC(10,2) NOT NULL
+);
+ALTER SEQUENCE reservation_services_id_seq OWNED BY reservation_services.id;
+
+-- Capacity and sold rooms per room type and night
+CREATE TABLE IF NOT EXISTS room_type_inventory (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    room_type_id BIGINT NOT NULL REFERENCES room_types(id) ON DELETE CASCADE,
+    night DATE NOT NULL,
+    capacity INTEGER NOT NULL,
+    sold INTEGER NOT NULL DEFAULT 0,
+    UNIQUE (room_type_id, night)
+);
+
+-- Billing
+
+CREATE SEQUENCE IF NOT EXISTS payments_id_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS payments (
+    id BIGINT PRIMARY KEY DEFAULT nextval('payments_id_seq'),
+    reservation_id BIGINT NOT NULL REFERENCES reservations(id) ON DELETE CASCADE,
+    status SMALLINT CHECK (status BETWEEN 0 AND 3),
+    amount NUMERIC(10,2) NOT NULL,
+    method VARCHAR(50) NOT NULL,
+    transaction_code VARCHAR(100),
+    payment_date TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+ALTER SEQUENCE payments_id_seq OWNED BY payments.id;
+
+CREATE SEQUENCE IF NOT EXISTS invoices_id_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS invoices (
+    id BIGINT PRIMARY KEY DEFAULT nextval('invoices_id_seq'),
+    invoice_number VARCHAR(50) NOT NULL UNIQUE,
+    reservation_id BIGINT NOT NULL REFERENCES reservations(id) ON DELETE CASCADE,
+    payment_id BIGINT UNIQUE REFERENCES payments(id) ON DELETE SET NULL,
+    staff_id BIGINT REFERENCES staff(id) ON DELETE SET NULL,
+    issue_date TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP,
+    total_amount NUMERIC(10,2) NOT NULL,
+    tax NUMERIC(10,2) DEFAULT 0,
+    discount NUMERIC(10,2) DEFAULT 0,
+    final_amount NUMERIC(10,2) NOT NULL,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+ALTER SEQUENCE invoices_id_seq OWNED BY invoices.id;
+
+CREATE TABLE IF NOT EXISTS invoice_details (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    invoice_id BIGINT NOT NULL REFERENCES invoices(id) ON DELETE CASCADE,
+    item_type VARCHAR(20) NOT NULL, -- 'ROOM' or 'SERVICE'
+    item_id BIGINT NOT NULL, -- room_id or service_id
+    description TEXT,
+    quantity INTEGER NOT NULL DEFAULT 1,
+    unit_price NUMERIC(10,2) NOT NULL,
+    total_price NUMERIC(10,2) NOT NULL
+);
+
+-- Each node reserves INCREMENT BY invoice numbers per nextval (INV-<year>-000123).
+-- The application reads the block size from here, so it can be tuned with ALTER SEQUENCE.
+CREATE SEQUENCE IF NOT EXISTS invoice_number_seq START WITH 1 INCREMENT BY 50;
+
+-- Request handling
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    scope VARCHAR(100) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('IN_PROGRESS', 'COMPLETED')),
+    response_status INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6),
+    UNIQUE (scope, idempotency_key)
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_created_at ON idempotency_keys(created_at);
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_id_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT PRIMARY KEY DEFAULT nextval('outbox_events_id_seq'),
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_id BIGINT,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'DONE', 'FAILED')),
+    attempts INTEGER NOT NULL,
+    available_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    processed_at TIMESTAMP(6),
+    last_error TEXT
+);
+DO $$
+BEGIN
+    -- Tables created by an earlier schema update own this sequence as an identity already
+    IF NOT EXISTS (SELECT 1 FROM pg_attribute
+                   WHERE attrelid = 'outbox_events'::regclass AND attname = 'id' AND attidentity <> '') THEN
+        ALTER SEQUENCE outbox_events_id_seq OWNED BY outbox_events.id;
+    END IF;
+END $$;
+
+-- Audit log, in monthly range partitions
+-- Creates the partition holding the month of month_start if it is missing.
+-- Called by the application to keep partitions ahead of the current month.
+CREATE OR REPLACE FUNCTION ensure_audit_log_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    first_day DATE := date_trunc('month', month_start)::date;
+    partition_name TEXT := 'audit_logs_' || to_char(first_day, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                partition_name, first_day, (first_day + INTERVAL '1 month')::date);
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- The partition key must be part of the primary key
+CREATE TABLE IF NOT EXISTS audit_logs (
+    id BIGSERIAL,
+    user_id UUID,
+    user_role VARCHAR(50),
+    action VARCHAR(100) NOT NULL,
+    entity VARCHAR(100) NOT NULL,
+    entity_id BIGINT,
+    description TEXT,
+    status VARCHAR(20) NOT NULL,
+    ip_address VARCHAR(45),
+    timestamp TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- Partitioned tables cannot be indexed concurrently, so these are created here rather than in V3
+CREATE INDEX IF NOT EXISTS idx_audit_user_id ON audit_logs(user_id);
+CREATE INDEX IF NOT EXISTS idx_audit_entity ON audit_logs(entity, entity_id);
+CREATE INDEX IF NOT EXISTS idx_audit_timestamp ON audit_logs(timestamp, id);
+
+-- The application keeps creating partitions ahead of time from here on
+DO $$
+DECLARE
+    partition_month DATE := date_trunc('month', CURRENT_DATE)::date;
+BEGIN
+    -- An unpartitioned audit_logs left by the former init scripts is converted by V2
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'audit_logs' AND relkind = 'p') THEN
+        WHILE partition_month <= date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::date LOOP
+            PERFORM ensure_audit_log_partition(partition_month);
+            partition_month := (partition_month + INTERVAL '1 month')::date;
+        END LOOP;
+    END IF;
+END $$;
+
+-- Double-booking protection for reservation_rooms
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Nights [check_in, check_out) the room is held for.
+-- NULL once the reservation is CHECKED_OUT (3) or CANCELLED (4), so it no longer blocks the room.
+ALTER TABLE reservation_rooms ADD COLUMN IF NOT EXISTS stay DATERANGE;
+
+CREATE OR REPLACE FUNCTION set_reservation_room_stay() RETURNS TRIGGER AS $$
+BEGIN
+    SELECT CASE WHEN r.status IN (3, 4) THEN NULL ELSE daterange(r.check_in, r.check_out) END
+    INTO NEW.stay
+    FROM reservations r
+    WHERE r.id = NEW.reservation_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_reservation_rooms_stay ON reservation_rooms;
+CREATE TRIGGER trg_reservation_rooms_stay
+    BEFORE INSERT OR UPDATE OF reservation_id ON reservation_rooms
+    FOR EACH ROW EXECUTE FUNCTION set_reservation_room_stay();
+
+CREATE OR REPLACE FUNCTION refresh_reservation_room_stays() RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.status IS DISTINCT FROM OLD.status
+            OR NEW.check_in IS DISTINCT FROM OLD.check_in
+            OR NEW.check_out IS DISTINCT FROM OLD.check_out THEN
+        UPDATE reservation_rooms
+        SET stay = CASE WHEN NEW.status IN (3, 4) THEN NULL ELSE daterange(NEW.check_in, NEW.check_out) END
+        WHERE reservation_id = NEW.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_reservations_stay ON reservations;
+CREATE TRIGGER trg_reservations_stay
+    AFTER UPDATE ON reservations
+    FOR EACH ROW EXECUTE FUNCTION refresh_reservation_room_stays();
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_reservation_rooms_no_overlap') THEN
+        ALTER TABLE reservation_rooms
+            ADD CONSTRAINT ex_reservation_rooms_no_overlap EXCLUDE USING gist (room_id WITH =, stay WITH &&);
+    END IF;
+END $$;
+
+-- Default reference data
+
+INSERT INTO room_types (name, description, price_per_night) VALUES
+    ('SINGLE', 'Single room with 1 bed', 50.00),
+    ('DOUBLE', 'Double room with 2 beds', 80.00),
+    ('SUITE', 'Suite with living area', 150.00),
+    ('DELUXE', 'Deluxe room with premium amenities', 200.00),
+    ('PRESIDENTIAL', 'Presidential suite', 500.00)
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO services (name, description, price) VALUES
+    ('Room Service', 'In-room dining service', 15.00),
+    ('Laundry', 'Laundry and dry cleaning', 20.00),
+    ('Spa', 'Spa and massage services', 50.00),
+    ('Airport Transfer', 'Airport pickup and drop-off', 30.00),
+    ('Extra Bed', 'Additional bed in room', 25.00)
+ON CONFLICT (name) DO NOTHING;
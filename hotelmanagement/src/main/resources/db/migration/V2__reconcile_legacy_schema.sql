@@ -0,0 +1,178 @@
+-- Brings a database created by the former init scripts and schema updates in
+-- line with V1. Every step checks for the legacy shape first, so on a database
+-- created by V1 the only effect is one skipped block on each pooled id sequence.
+
+-- Lookup tables become the enum columns the entities map
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'rooms' AND column_name = 'room_status_id') THEN
+        ALTER TABLE rooms ADD COLUMN IF NOT EXISTS room_status VARCHAR(255);
+        -- CLEANING has no counterpart in RoomStatus
+        UPDATE rooms r
+        SET room_status = CASE s.name WHEN 'CLEANING' THEN 'MAINTENANCE' ELSE s.name END
+        FROM room_statuses s
+        WHERE s.id = r.room_status_id AND r.room_status IS NULL;
+        UPDATE rooms SET room_status = 'AVAILABLE' WHERE room_status IS NULL;
+        ALTER TABLE rooms ALTER COLUMN room_status SET NOT NULL;
+        ALTER TABLE rooms DROP COLUMN room_status_id;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'reservations' AND column_name = 'status_id') THEN
+        ALTER TABLE reservations ADD COLUMN IF NOT EXISTS status SMALLINT;
+        UPDATE reservations r
+        SET status = array_position(ARRAY['PENDING', 'CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT', 'CANCELLED'],
+                s.name::text) - 1
+        FROM reservation_statuses s
+        WHERE s.id = r.status_id AND r.status IS NULL;
+        ALTER TABLE reservations DROP COLUMN status_id;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'payments' AND column_name = 'status_id') THEN
+        ALTER TABLE payments ADD COLUMN IF NOT EXISTS status SMALLINT;
+        -- PROCESSING has no counterpart in PaymentStatus and is treated as PENDING
+        UPDATE payments p
+        SET status = COALESCE(array_position(ARRAY['PENDING', 'COMPLETED', 'FAILED', 'REFUNDED'],
+                s.name::text) - 1, 0)
+        FROM payment_statuses s
+        WHERE s.id = p.status_id AND p.status IS NULL;
+        ALTER TABLE payments DROP COLUMN status_id;
+    END IF;
+END $$;
+
+DROP TABLE IF EXISTS room_statuses;
+DROP TABLE IF EXISTS reservation_statuses;
+DROP TABLE IF EXISTS payment_statuses;
+
+-- Ids are Long in the entities: SERIAL columns and the keys referencing them become BIGINT
+DO $$
+DECLARE
+    col RECORD;
+    seq TEXT;
+BEGIN
+    FOR col IN
+        SELECT c.table_name, c.column_name
+        FROM information_schema.columns c
+        WHERE c.table_schema = current_schema()
+          AND c.data_type = 'integer'
+          AND (c.column_name = 'id' OR c.column_name LIKE '%\_id')
+          AND c.table_name IN ('room_types', 'services', 'rooms', 'room_images', 'guests', 'staff', 'users',
+                               'reservations', 'reservation_rooms', 'reservation_staff', 'reservation_services',
+                               'room_type_inventory', 'payments', 'invoices', 'invoice_details')
+        ORDER BY c.table_name, c.column_name
+    LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I TYPE BIGINT', col.table_name, col.column_name);
+        seq := pg_get_serial_sequence(col.table_name, col.column_name);
+        IF seq IS NOT NULL THEN
+            EXECUTE format('ALTER SEQUENCE %s AS BIGINT', seq);
+        END IF;
+    END LOOP;
+END $$;
+
+-- Sequences of the tables inserted through JPA hand out blocks of 50 (pooled-lo)
+DO $$
+DECLARE
+    tbl TEXT;
+    seq TEXT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['reservations', 'reservation_services', 'payments', 'invoices', 'outbox_events']
+    LOOP
+        seq := pg_get_serial_sequence(tbl, 'id');
+        IF EXISTS (SELECT 1 FROM pg_attribute
+                   WHERE attrelid = tbl::regclass AND attname = 'id' AND attidentity <> '') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', tbl);
+        ELSIF seq IS NOT NULL THEN
+            EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', seq);
+        ELSE
+            CONTINUE;
+        END IF;
+        -- Never moves backwards, so blocks already handed out to running nodes stay unused by others
+        EXECUTE format('SELECT setval(%L, GREATEST(COALESCE(MAX(id), 0) + 1, nextval(%L)), false) FROM %I',
+                       seq, seq, tbl);
+    END LOOP;
+END $$;
+
+-- An unpartitioned audit_logs is moved into monthly partitions
+DO $$
+DECLARE
+    legacy_pkey TEXT;
+    first_month DATE;
+    partition_month DATE;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_class WHERE relname = 'audit_logs' AND relkind = 'r') THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+    SELECT conname INTO legacy_pkey
+    FROM pg_constraint
+    WHERE conrelid = 'audit_logs_unpartitioned'::regclass AND contype = 'p';
+    IF legacy_pkey IS NOT NULL THEN
+        EXECUTE format('ALTER TABLE audit_logs_unpartitioned RENAME CONSTRAINT %I TO audit_logs_unpartitioned_pkey',
+                legacy_pkey);
+    END IF;
+
+    CREATE TABLE audit_logs (
+        id BIGSERIAL,
+        user_id UUID,
+        user_role VARCHAR(50),
+        action VARCHAR(100) NOT NULL,
+        entity VARCHAR(100) NOT NULL,
+        entity_id BIGINT,
+        description TEXT,
+        status VARCHAR(20) NOT NULL,
+        ip_address VARCHAR(45),
+        timestamp TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        PRIMARY KEY (id, timestamp)
+    ) PARTITION BY RANGE (timestamp);
+
+    SELECT LEAST(date_trunc('month', CURRENT_DATE)::date, date_trunc('month', MIN(timestamp))::date)
+    INTO first_month
+    FROM audit_logs_unpartitioned;
+
+    partition_month := first_month;
+    WHILE partition_month <= date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::date LOOP
+        PERFORM ensure_audit_log_partition(partition_month);
+        partition_month := (partition_month + INTERVAL '1 month')::date;
+    END LOOP;
+
+    INSERT INTO audit_logs (id, user_id, user_role, action, entity, entity_id, description, status,
+            ip_address, timestamp)
+    SELECT id, user_id, user_role, action, entity, entity_id, description, status,
+            ip_address, COALESCE(timestamp, CURRENT_TIMESTAMP)
+    FROM audit_logs_unpartitioned;
+    PERFORM setval(pg_get_serial_sequence('audit_logs', 'id'),
+            (SELECT COALESCE(MAX(id), 0) + 1 FROM audit_logs), false);
+    DROP TABLE audit_logs_unpartitioned;
+
+    -- The legacy indexes had V1's names, so V1 skipped them and they went with the old table
+    CREATE INDEX idx_audit_user_id ON audit_logs(user_id);
+    CREATE INDEX idx_audit_entity ON audit_logs(entity, entity_id);
+    CREATE INDEX idx_audit_timestamp ON audit_logs(timestamp, id);
+END $$;
+
+-- Rooms booked before the stay column existed
+UPDATE reservation_rooms SET reservation_id = reservation_id WHERE stay IS NULL;
+
+-- Indexes from the former init scripts; V3 creates the set the queries use
+DROP INDEX IF EXISTS idx_rooms_type;
+DROP INDEX IF EXISTS idx_rooms_status;
+DROP INDEX IF EXISTS idx_rooms_floor;
+DROP INDEX IF EXISTS idx_room_images_room;
+DROP INDEX IF EXISTS idx_guests_email;
+DROP INDEX IF EXISTS idx_guests_keycloak;
+DROP INDEX IF EXISTS idx_staff_email;
+DROP INDEX IF EXISTS idx_staff_keycloak;
+DROP INDEX IF EXISTS idx_reservations_guest;
+DROP INDEX IF EXISTS idx_reservations_status;
+DROP INDEX IF EXISTS idx_reservations_dates;
+DROP INDEX IF EXISTS idx_reservation_rooms_reservation;
+DROP INDEX IF EXISTS idx_reservation_rooms_room;
+DROP INDEX IF EXISTS idx_payments_reservation;
+DROP INDEX IF EXISTS idx_payments_status;
+DROP INDEX IF EXISTS idx_invoices_number;
+DROP INDEX IF EXISTS idx_invoices_reservation;
+DROP INDEX IF EXISTS idx_invoice_details_invoice;
+DROP INDEX IF EXISTS idx_outbox_status_available;
@@ -0,0 +1,57 @@
+-- Indexes for the queries the application runs
+-- Built CONCURRENTLY so existing databases keep taking writes; Flyway runs these
+-- statements outside a transaction. Reservation status ordinals: 1 CONFIRMED,
+-- 2 CHECKED_IN, 3 CHECKED_OUT, 4 CANCELLED.
+
+-- Rooms: allocation picks AVAILABLE rooms of a type in id order; lookups by status and floor
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rooms_type_status ON rooms (room_type_id, room_status, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rooms_status ON rooms (room_status);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rooms_floor ON rooms (floor);
+
+-- Image lists per room come back in display order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_room_images_room ON room_images (room_id, display_order);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservations_guest ON reservations (guest_id);
+
+-- Availability and the room-night index only look at reservations that still hold rooms.
+-- check_out leads because every such query bounds it from below (check_out > :from),
+-- and past stays, the bulk of the table, fall outside that range.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservations_active_stay ON reservations (check_out, check_in)
+    WHERE status NOT IN (3, 4);
+
+-- Reservations by arrival date (reports)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservations_check_in ON reservations (check_in);
+
+-- Night audit: billable reservations checking out by a date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservations_billable_check_out ON reservations (check_out, id)
+    WHERE status IN (1, 2, 3);
+
+-- The unique (reservation_id, room_id) key serves lookups by reservation; this one serves lookups by room
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservation_rooms_room ON reservation_rooms (room_id, reservation_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservation_staff_staff ON reservation_staff (staff_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservation_services_reservation
+    ON reservation_services (reservation_id, service_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservation_services_service ON reservation_services (service_id);
+
+-- Resetting sold counts from a night onwards
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_room_type_inventory_night ON room_type_inventory (night);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payments_status ON payments (status);
+-- Payments of a reservation, and its latest completed payment when invoicing
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payments_reservation_status ON payments (reservation_id, status, id);
+
+-- Invoiced-or-not checks for reservations
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_invoices_reservation ON invoices (reservation_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_invoices_staff ON invoices (staff_id);
+
+-- Invoice lines come back per invoice in id order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_invoice_details_invoice ON invoice_details (invoice_id, id);
+
+-- Only events still to deliver are indexed for claiming, so the index stays small
+-- however many processed events wait for the purge
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_pending ON outbox_events (available_at, id)
+    WHERE status = 'PENDING';
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_done_processed ON outbox_events (processed_at)
+    WHERE status = 'DONE';
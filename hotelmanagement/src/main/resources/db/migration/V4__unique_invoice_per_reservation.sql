@@ -0,0 +1,9 @@
+-- At most one invoice per reservation. InvoiceComposer checks for an existing invoice
+-- under a row lock on the reservation; the database now enforces it as well.
+-- Built in the migration's transaction rather than CONCURRENTLY: on a database that
+-- already bills a reservation twice the build fails, naming the reservation, and rolls
+-- back without leaving an invalid index behind. Remove the duplicate invoice and rerun.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_invoices_reservation ON invoices (reservation_id);
+
+-- The unique index serves the invoiced-or-not checks that used this one
+DROP INDEX IF EXISTS idx_invoices_reservation;
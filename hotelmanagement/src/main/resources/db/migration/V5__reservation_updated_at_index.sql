@@ -0,0 +1,3 @@
+-- Each node's availability index polls for reservations written since its previous pass,
+-- a few seconds back, so the scan stays at the newest end of the index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reservations_updated_at ON reservations (updated_at);
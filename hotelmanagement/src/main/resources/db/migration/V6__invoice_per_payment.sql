@@ -0,0 +1,28 @@
+-- Every completed payment gets its own invoice again, itemizing the charges no earlier
+-- invoice of the reservation has billed. Each room and service row records the invoice
+-- that billed it, so neither a second payment nor the night audit bills it twice.
+ALTER TABLE reservation_rooms ADD COLUMN IF NOT EXISTS invoice_id BIGINT REFERENCES invoices(id) ON DELETE SET NULL;
+ALTER TABLE reservation_services ADD COLUMN IF NOT EXISTS invoice_id BIGINT REFERENCES invoices(id) ON DELETE SET NULL;
+
+-- Charges already itemized count as billed by the earliest invoice that lists them
+UPDATE reservation_rooms rr SET invoice_id = billed.invoice_id
+FROM (SELECT i.reservation_id, d.item_id, MIN(i.id) AS invoice_id
+      FROM invoices i JOIN invoice_details d ON d.invoice_id = i.id
+      WHERE d.item_type = 'ROOM'
+      GROUP BY i.reservation_id, d.item_id) billed
+WHERE rr.reservation_id = billed.reservation_id AND rr.room_id = billed.item_id AND rr.invoice_id IS NULL;
+
+UPDATE reservation_services rs SET invoice_id = billed.invoice_id
+FROM (SELECT i.reservation_id, d.item_id, MIN(i.id) AS invoice_id
+      FROM invoices i JOIN invoice_details d ON d.invoice_id = i.id
+      WHERE d.item_type = 'SERVICE'
+      GROUP BY i.reservation_id, d.item_id) billed
+WHERE rs.reservation_id = billed.reservation_id AND rs.service_id = billed.item_id AND rs.invoice_id IS NULL;
+
+-- Deleting an invoice clears these references
+CREATE INDEX IF NOT EXISTS idx_reservation_rooms_invoice ON reservation_rooms (invoice_id);
+CREATE INDEX IF NOT EXISTS idx_reservation_services_invoice ON reservation_services (invoice_id);
+
+-- A reservation may have one invoice per payment plus night audit invoices
+DROP INDEX IF EXISTS uk_invoices_reservation;
+CREATE INDEX IF NOT EXISTS idx_invoices_reservation ON invoices (reservation_id);
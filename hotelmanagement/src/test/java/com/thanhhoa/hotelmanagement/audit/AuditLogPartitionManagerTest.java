@@ -0,0 +1,104 @@
+package com.thanhhoa.hotelmanagement.audit;
+
+import com.thanhhoa.hotelmanagement.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AuditLogPartitionManagerTest {
+
+    private static final String EXPIRED = "audit_logs_2020_01";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    private Path archiveDir;
+
+    @BeforeEach
+    void expiredPartition() {
+        jdbcTemplate.queryForObject("SELECT ensure_audit_log_partition(?)", String.class, LocalDate.of(2020, 1, 1));
+        jdbcTemplate.update("INSERT INTO audit_logs (action, entity, status, timestamp) "
+                + "VALUES ('UPDATE', 'RESERVATION', 'SUCCESS', '2020-01-15 12:00')");
+    }
+
+    @Test
+    void keepsExpiredPartitionsWithoutAnAbsoluteArchiveDir() {
+        manager("").maintain();
+        manager("audit-archive").maintain();
+
+        assertThat(partitionExists()).isTrue();
+    }
+
+    @Test
+    void skipsWhileAnotherNodeHoldsTheLock() throws Exception {
+        try (Connection otherNode = dataSource.getConnection()) {
+            assertThat(advisoryLock(otherNode, "pg_try_advisory_lock")).isTrue();
+            manager(archiveDir.toString()).maintain();
+            assertThat(partitionExists()).isTrue();
+            advisoryLock(otherNode, "pg_advisory_unlock");
+        }
+
+        manager(archiveDir.toString()).maintain();
+        assertThat(partitionExists()).isFalse();
+    }
+
+    @Test
+    void archivesToTheDirectoryBeforeDropping() throws IOException {
+        manager(archiveDir.toString()).maintain();
+
+        assertThat(partitionExists()).isFalse();
+        assertThat(archiveDir.resolve(EXPIRED + ".csv.gz.partial")).doesNotExist();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archiveDir.resolve(EXPIRED + ".csv.gz")))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .startsWith("id,")
+                    .contains("RESERVATION", "2020-01-15 12:00:00");
+        }
+    }
+
+    private AuditLogPartitionManager manager(String archiveDir) {
+        return new AuditLogPartitionManager(jdbcTemplate, 0, 12, archiveDir);
+    }
+
+    private boolean partitionExists() {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, EXPIRED);
+    }
+
+    private boolean advisoryLock(Connection connection, String function) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, AuditLogPartitionManager.MAINTENANCE_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+}
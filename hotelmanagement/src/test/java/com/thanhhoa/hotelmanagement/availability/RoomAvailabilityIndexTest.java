@@ -0,0 +1,105 @@
+package com.thanhhoa.hotelmanagement.availability;
+
+import com.thanhhoa.hotelmanagement.entity.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(RoomAvailabilityIndex.class)
+class RoomAvailabilityIndexTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(3);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    @Autowired
+    private RoomAvailabilityIndex index;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void syncPicksUpReservationsWrittenOnOtherNodes() {
+        Room room = seedRoom();
+        index.load();
+        assertThat(index.findAvailableRoomIds(CHECK_IN, CHECK_OUT)).hasValueSatisfying(
+                ids -> assertThat(ids).contains(room.getId()));
+
+        // Written straight to the database, as another node would, without the local occupy hook
+        Reservation reservation = book(room, ReservationStatus.CONFIRMED);
+        index.sync();
+        assertThat(index.findAvailableRoomIds(CHECK_IN, CHECK_OUT)).hasValueSatisfying(
+                ids -> assertThat(ids).doesNotContain(room.getId()));
+
+        reservation.setStatus(ReservationStatus.CANCELLED);
+        entityManager.flush();
+        index.sync();
+        assertThat(index.findAvailableRoomIds(CHECK_IN, CHECK_OUT)).hasValueSatisfying(
+                ids -> assertThat(ids).contains(room.getId()));
+    }
+
+    @Test
+    void staleIndexDefersToTheDatabase() {
+        seedRoom();
+        index.load();
+        assertThat(index.findAvailableRoomIds(CHECK_IN, CHECK_OUT)).isPresent();
+
+        RoomAvailabilityIndex target = AopTestUtils.getTargetObject(index);
+        ReflectionTestUtils.setField(target, "syncedAt", System.nanoTime() - TimeUnit.MINUTES.toNanos(1));
+        assertThat(index.findAvailableRoomIds(CHECK_IN, CHECK_OUT)).isEmpty();
+    }
+
+    private Room seedRoom() {
+        RoomType roomType = persist(RoomType.builder()
+                .name("DELUXE")
+                .pricePerNight(new BigDecimal("200.00"))
+                .build());
+        Room room = persist(Room.builder()
+                .roomNumber("101")
+                .roomType(roomType)
+                .roomStatus(RoomStatus.AVAILABLE)
+                .build());
+        entityManager.flush();
+        return room;
+    }
+
+    private Reservation book(Room room, ReservationStatus status) {
+        Guest guest = persist(Guest.builder()
+                .fullName("Guest")
+                .email("guest@example.com")
+                .keycloakUserId(UUID.randomUUID())
+                .build());
+        Reservation reservation = persist(Reservation.builder()
+                .guest(guest)
+                .status(status)
+                .checkIn(CHECK_IN)
+                .checkOut(CHECK_OUT)
+                .build());
+        persist(ReservationRoom.builder()
+                .reservation(reservation)
+                .room(room)
+                .build());
+        entityManager.flush();
+        return reservation;
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,66 @@
+package com.thanhhoa.hotelmanagement.configuration;
+
+import com.thanhhoa.hotelmanagement.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.security.user.password=secret")
+@AutoConfigureMockMvc
+class SecurityConfigTest {
+
+    private static final String LEVEL = "{\"configuredLevel\": \"TRACE\"}";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void logLevelsCannotBeChangedAnonymously() throws Exception {
+        mockMvc.perform(get("/actuator/loggers/ROOT"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/loggers/org.hibernate.orm.jdbc.bind")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LEVEL))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/loggers/org.hibernate.orm.jdbc.bind")
+                        .with(httpBasic("admin", "wrong"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LEVEL))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void adminChangesLogLevels() throws Exception {
+        mockMvc.perform(post("/actuator/loggers/com.thanhhoa.hotelmanagement.invoice")
+                        .with(httpBasic("admin", "secret"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuredLevel\": \"DEBUG\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/actuator/loggers/com.thanhhoa.hotelmanagement.invoice")
+                        .with(httpBasic("admin", "secret")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.configuredLevel").value("DEBUG"));
+    }
+
+    @Test
+    void applicationEndpointsStayOpen() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,101 @@
+package com.thanhhoa.hotelmanagement.datasource;
+
+import com.thanhhoa.hotelmanagement.configuration.DataSourceConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds both pools the way {@link DataSourceConfig} does, with the reporting
+ * pool pointed at a second in-memory database, so the database name a
+ * statement reports tells which pool served it.
+ */
+class WorkloadRoutingDataSourceTest {
+
+    private HikariDataSource booking;
+    private HikariDataSource reporting;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactions;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "hotel.datasource.reporting.jdbc-url", "jdbc:h2:mem:reporting")));
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:booking");
+        properties.afterPropertiesSet();
+
+        DataSourceConfig config = new DataSourceConfig();
+        booking = config.bookingDataSource(properties, environment);
+        reporting = config.reportingDataSource(properties, environment);
+        var dataSource = config.dataSource(booking, reporting);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        booking.close();
+        reporting.close();
+    }
+
+    @Test
+    void writeTransactionsUseTheBookingPool() {
+        assertThat(inTransaction(this::database)).isEqualTo("BOOKING");
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReportingPool() {
+        transactions.setReadOnly(true);
+
+        assertThat(inTransaction(this::database)).isEqualTo("REPORTING");
+    }
+
+    @Test
+    void workloadAnnotationOverridesReadOnly() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CatalogReader(this));
+        factory.addAspect(new WorkloadAspect());
+        CatalogReader reader = factory.getProxy();
+        transactions.setReadOnly(true);
+
+        // The transaction starts before the aspect runs; the pool is still picked at the first statement
+        assertThat(inTransaction(reader::database)).isEqualTo("BOOKING");
+        assertThat(inTransaction(this::database)).isEqualTo("REPORTING");
+    }
+
+    private String inTransaction(Supplier<String> query) {
+        return transactions.execute(status -> query.get());
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    static class CatalogReader {
+
+        private final WorkloadRoutingDataSourceTest test;
+
+        CatalogReader(WorkloadRoutingDataSourceTest test) {
+            this.test = test;
+        }
+
+        @Workload(Workload.Type.BOOKING)
+        public String database() {
+            return test.database();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.thanhhoa.hotelmanagement.invoice;
+
+import com.thanhhoa.hotelmanagement.entity.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ InvoiceComposer.class, InvoiceComposerTest.SequencerConfig.class })
+class InvoiceComposerTest {
+
+    private static final int RESERVATIONS = 500;
+
+    @Autowired
+    private InvoiceComposer invoiceComposer;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void billsManyReservationsWithAFixedNumberOfQueries() {
+        List<Long> reservationIds = seed(RESERVATIONS);
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<Invoice> invoices = invoiceComposer.invoiceReservations(reservationIds);
+
+        assertThat(invoices).hasSize(RESERVATIONS);
+        // Invoiced reservations, payments, room charges and service charges; the invoice
+        // inserts and the detail batch are the only per-row work
+        assertThat(statistics.getPrepareStatementCount() - RESERVATIONS).isLessThanOrEqualTo(4);
+
+        entityManager.clear();
+        Invoice invoice = entityManager.find(Invoice.class, invoices.get(0).getId());
+        // Two nights in a 200.00 room plus one 50.00 service
+        assertThat(invoice.getTotalAmount()).isEqualByComparingTo("450.00");
+        assertThat(invoice.getFinalAmount()).isEqualByComparingTo("450.00");
+        assertThat(invoice.getInvoiceDetails()).extracting(InvoiceDetail::getItemType)
+                .containsExactlyInAnyOrder(InvoiceLine.ROOM, InvoiceLine.SERVICE);
+    }
+
+    @Test
+    void chargesAreBilledOnlyOnce() {
+        List<Long> reservationIds = seed(3);
+        invoiceComposer.invoiceReservations(reservationIds.subList(0, 1));
+
+        assertThat(invoiceComposer.invoiceReservations(reservationIds)).hasSize(2);
+        assertThat(invoiceComposer.invoiceReservations(reservationIds)).isEmpty();
+    }
+
+    @Test
+    void eachPaymentInvoicesOnlyTheChargesNoEarlierInvoiceBilled() {
+        Long reservationId = seed(1).get(0);
+        Reservation reservation = entityManager.getReference(Reservation.class, reservationId);
+        Payment deposit = persist(payment(reservation, "100.00"));
+        Payment balance = persist(payment(reservation, "370.00"));
+
+        Invoice first = invoiceComposer.invoicePayment(reservationId, deposit.getId()).orElseThrow();
+        bookService(reservation, "Laundry", "20.00");
+        Invoice second = invoiceComposer.invoicePayment(reservationId, balance.getId()).orElseThrow();
+
+        // A redelivered event issues nothing, and the night audit finds nothing left to bill
+        assertThat(invoiceComposer.invoicePayment(reservationId, balance.getId())).isEmpty();
+        assertThat(invoiceComposer.invoiceReservations(List.of(reservationId))).isEmpty();
+
+        entityManager.clear();
+        first = entityManager.find(Invoice.class, first.getId());
+        second = entityManager.find(Invoice.class, second.getId());
+        assertThat(first.getPayment().getId()).isEqualTo(deposit.getId());
+        assertThat(first.getTotalAmount()).isEqualByComparingTo("450.00");
+        assertThat(first.getInvoiceDetails()).extracting(InvoiceDetail::getItemType)
+                .containsExactlyInAnyOrder(InvoiceLine.ROOM, InvoiceLine.SERVICE);
+        assertThat(second.getPayment().getId()).isEqualTo(balance.getId());
+        assertThat(second.getTotalAmount()).isEqualByComparingTo("20.00");
+        assertThat(second.getInvoiceDetails()).extracting(InvoiceDetail::getDescription)
+                .containsExactly("Laundry");
+    }
+
+    @Test
+    void nightAuditBillsWhatPaymentsLeftOutstanding() {
+        Long reservationId = seed(1).get(0);
+        Reservation reservation = entityManager.getReference(Reservation.class, reservationId);
+        Payment deposit = persist(payment(reservation, "450.00"));
+        invoiceComposer.invoicePayment(reservationId, deposit.getId()).orElseThrow();
+        bookService(reservation, "Minibar", "15.00");
+
+        List<Invoice> invoices = invoiceComposer.invoiceReservations(List.of(reservationId));
+
+        assertThat(invoices).singleElement().satisfies(invoice -> {
+            assertThat(invoice.getPayment()).isNull();
+            assertThat(invoice.getTotalAmount()).isEqualByComparingTo("15.00");
+        });
+        // A later payment with nothing new to bill still gets its own, empty invoice
+        Payment tip = persist(payment(reservation, "5.00"));
+        assertThat(invoiceComposer.invoicePayment(reservationId, tip.getId())).hasValueSatisfying(
+                invoice -> assertThat(invoice.getTotalAmount()).isEqualByComparingTo("0"));
+    }
+
+    private void bookService(Reservation reservation, String name, String price) {
+        com.thanhhoa.hotelmanagement.entity.Service service = persist(
+                com.thanhhoa.hotelmanagement.entity.Service.builder()
+                        .name(name)
+                        .price(new BigDecimal(price))
+                        .build());
+        persist(ReservationService.builder()
+                .reservation(reservation)
+                .service(service)
+                .totalPrice(service.getPrice())
+                .build());
+        entityManager.flush();
+    }
+
+    private Payment payment(Reservation reservation, String amount) {
+        return Payment.builder()
+                .reservation(reservation)
+                .status(PaymentStatus.COMPLETED)
+                .amount(new BigDecimal(amount))
+                .method("CARD")
+                .build();
+    }
+
+    private List<Long> seed(int reservationCount) {
+        RoomType roomType = persist(RoomType.builder()
+                .name("DELUXE")
+                .pricePerNight(new BigDecimal("200.00"))
+                .build());
+        com.thanhhoa.hotelmanagement.entity.Service service = persist(
+                com.thanhhoa.hotelmanagement.entity.Service.builder()
+                        .name("Spa")
+                        .price(new BigDecimal("50.00"))
+                        .build());
+
+        List<Long> reservationIds = new ArrayList<>();
+        for (int i = 0; i < reservationCount; i++) {
+            Guest guest = persist(Guest.builder()
+                    .fullName("Guest " + i)
+                    .email("guest" + i + "@example.com")
+                    .keycloakUserId(UUID.randomUUID())
+                    .build());
+            Reservation reservation = persist(Reservation.builder()
+                    .guest(guest)
+                    .status(ReservationStatus.CHECKED_OUT)
+                    .checkIn(LocalDate.now().minusDays(2))
+                    .checkOut(LocalDate.now())
+                    .build());
+            Room room = persist(Room.builder()
+                    .roomNumber("R" + i)
+                    .roomType(roomType)
+                    .roomStatus(RoomStatus.AVAILABLE)
+                    .build());
+            persist(ReservationRoom.builder()
+                    .reservation(reservation)
+                    .room(room)
+                    .build());
+            persist(ReservationService.builder()
+                    .reservation(reservation)
+                    .service(service)
+                    .totalPrice(service.getPrice())
+                    .build());
+            reservationIds.add(reservation.getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return reservationIds;
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    @TestConfiguration
+    static class SequencerConfig {
+
+        // The pooled sequencer needs Postgres; numbering is not under test here
+        @Bean
+        InvoiceNumberSequencer invoiceNumberSequencer() {
+            AtomicLong next = new AtomicLong();
+            return () -> "INV-TEST-" + next.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.dto.response.AuditLogResponse;
+import com.thanhhoa.hotelmanagement.entity.AuditLog;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class AuditLogRepositoryTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void pagesBackwardsThroughEntriesSharingATimestamp() {
+        // Three entries in the same instant straddle the page boundary
+        List<LocalDateTime> timestamps = List.of(NOON.minusMinutes(1), NOON, NOON, NOON, NOON.plusMinutes(1));
+        timestamps.forEach(timestamp -> entityManager.persist(AuditLog.builder()
+                .action("UPDATE")
+                .entity("RESERVATION")
+                .status("SUCCESS")
+                .timestamp(timestamp)
+                .build()));
+        entityManager.flush();
+
+        List<AuditLogResponse> seen = new ArrayList<>(auditLogRepository.findLatestResponses(Limit.of(2)));
+        List<AuditLogResponse> page;
+        do {
+            AuditLogResponse last = seen.get(seen.size() - 1);
+            page = auditLogRepository.findResponsesBefore(last.timestamp(), last.id(), Limit.of(2));
+            seen.addAll(page);
+        } while (!page.isEmpty());
+
+        assertThat(seen).extracting(AuditLogResponse::timestamp)
+                .containsExactly(NOON.plusMinutes(1), NOON, NOON, NOON, NOON.minusMinutes(1));
+        assertThat(seen).extracting(AuditLogResponse::id).doesNotHaveDuplicates();
+    }
+}
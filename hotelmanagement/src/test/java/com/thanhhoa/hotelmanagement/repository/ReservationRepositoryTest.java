@@ -0,0 +1,133 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.dto.response.ReservationResponse;
+import com.thanhhoa.hotelmanagement.entity.*;
+import com.thanhhoa.hotelmanagement.mapper.EntityMapper;
+import com.thanhhoa.hotelmanagement.pagination.Pagination;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReservationRepositoryTest {
+
+    // hibernate.default_batch_fetch_size in application.yml
+    private static final int BATCH_FETCH_SIZE = 100;
+    private static final int ROOMS_PER_RESERVATION = 2;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final EntityMapper mapper = new EntityMapper();
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 60, 250 })
+    void detailedPageMapsReservationGraphInBoundedStatements(int reservationCount) {
+        seed(reservationCount);
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<Long> ids = reservationRepository.findIdsAfter(0L, Limit.of(Pagination.MAX_LIMIT));
+        List<ReservationResponse> responses = reservationRepository.findAllDetailedByIdIn(ids).stream()
+                .map(mapper::toResponse)
+                .toList();
+
+        assertThat(responses).hasSize(reservationCount);
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.rooms()).hasSize(ROOMS_PER_RESERVATION);
+            assertThat(response.rooms().get(0).images()).hasSize(1);
+            assertThat(response.services()).hasSize(1);
+        });
+        // The id page, one joined query for reservations, guests, rooms and room types, then one
+        // statement per batch of images, reservation services and services - never one per row
+        long batches = (reservationCount * ROOMS_PER_RESERVATION + BATCH_FETCH_SIZE - 1) / BATCH_FETCH_SIZE;
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2 + 3 * batches);
+    }
+
+    @Test
+    void idPageStartsAfterCursorAndStopsAtLimit() {
+        seed(5);
+        List<Long> all = reservationRepository.findIdsAfter(0L, Limit.of(Pagination.MAX_LIMIT));
+
+        List<Long> page = reservationRepository.findIdsAfter(all.get(1), Limit.of(2));
+
+        assertThat(page).containsExactly(all.get(2), all.get(3));
+    }
+
+    private void seed(int reservationCount) {
+        RoomType roomType = persist(RoomType.builder()
+                .name("DELUXE")
+                .pricePerNight(new BigDecimal("200.00"))
+                .build());
+        Service service = persist(Service.builder()
+                .name("Spa")
+                .price(new BigDecimal("50.00"))
+                .build());
+
+        for (int i = 0; i < reservationCount; i++) {
+            Guest guest = persist(Guest.builder()
+                    .fullName("Guest " + i)
+                    .email("guest" + i + "@example.com")
+                    .keycloakUserId(UUID.randomUUID())
+                    .build());
+            Reservation reservation = persist(Reservation.builder()
+                    .guest(guest)
+                    .status(ReservationStatus.CONFIRMED)
+                    .checkIn(LocalDate.now().plusDays(i))
+                    .checkOut(LocalDate.now().plusDays(i + 2))
+                    .build());
+
+            for (int j = 0; j < ROOMS_PER_RESERVATION; j++) {
+                Room room = persist(Room.builder()
+                        .roomNumber(i + "-" + j)
+                        .roomType(roomType)
+                        .roomStatus(RoomStatus.RESERVED)
+                        .build());
+                persist(RoomImage.builder()
+                        .room(room)
+                        .imageUrl("https://example.com/" + i + "-" + j + ".jpg")
+                        .build());
+                persist(ReservationRoom.builder()
+                        .reservation(reservation)
+                        .room(room)
+                        .build());
+            }
+            persist(com.thanhhoa.hotelmanagement.entity.ReservationService.builder()
+                    .reservation(reservation)
+                    .service(service)
+                    .totalPrice(service.getPrice())
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,81 @@
+package com.thanhhoa.hotelmanagement.repository;
+
+import com.thanhhoa.hotelmanagement.entity.RoomType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every repository call commits on its own, as in the application, so the cache is actually populated
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomTypeRepositoryTest {
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomTypeRepository.deleteAll();
+    }
+
+    @Test
+    void roomTypeLookupsAreServedFromTheSecondLevelCache() {
+        Long id = roomTypeRepository.save(roomType("SINGLE")).getId();
+        roomTypeRepository.findById(id);
+        statistics.clear();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(roomTypeRepository.findById(id)).hasValueSatisfying(
+                    roomType -> assertThat(roomType.getName()).isEqualTo("SINGLE"));
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void cachedListIsReusedUntilTheTableChanges() {
+        roomTypeRepository.save(roomType("SINGLE"));
+        roomTypeRepository.save(roomType("DOUBLE"));
+        roomTypeRepository.findAll();
+        statistics.clear();
+
+        assertThat(roomTypeRepository.findAll()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        roomTypeRepository.save(roomType("SUITE"));
+        assertThat(roomTypeRepository.findAll()).hasSize(3);
+    }
+
+    private RoomType roomType(String name) {
+        return RoomType.builder()
+                .name(name)
+                .pricePerNight(BigDecimal.valueOf(50))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.thanhhoa.hotelmanagement.service;
+
+import com.thanhhoa.hotelmanagement.PostgresTestDatabase;
+import com.thanhhoa.hotelmanagement.dto.request.ReservationRequest;
+import com.thanhhoa.hotelmanagement.dto.response.ReservationResponse;
+import com.thanhhoa.hotelmanagement.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against the migrated PostgreSQL schema, where reservation_rooms has its
+ * foreign key, the stay trigger and the no-overlap exclusion constraint.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReservationServiceTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID keycloakUserId;
+    private long roomId;
+
+    @BeforeEach
+    void seed() {
+        keycloakUserId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO guests (full_name, email, keycloak_user_id) VALUES (?, ?, ?)",
+                "Test Guest", keycloakUserId + "@example.com", keycloakUserId);
+        roomId = jdbcTemplate.queryForObject("""
+                INSERT INTO rooms (room_number, room_type_id, room_status)
+                SELECT ?, id, 'AVAILABLE' FROM room_types WHERE name = 'DOUBLE'
+                RETURNING id""", Long.class, "T-" + keycloakUserId.toString().substring(0, 8));
+    }
+
+    @Test
+    void createsTheReservationAndItsRooms() {
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+
+        ReservationResponse response = reservationService.createReservation(request(checkIn, checkIn.plusDays(2)));
+
+        List<Long> roomIds = jdbcTemplate.queryForList(
+                "SELECT room_id FROM reservation_rooms WHERE reservation_id = ?", Long.class, response.id());
+        assertThat(roomIds).containsExactly(roomId);
+        assertThat(jdbcTemplate.queryForObject("SELECT room_status FROM rooms WHERE id = ?", String.class, roomId))
+                .isEqualTo("RESERVED");
+    }
+
+    @Test
+    void rejectsAnOverlappingStayForTheSameRoom() {
+        LocalDate checkIn = LocalDate.now().plusDays(20);
+        reservationService.createReservation(request(checkIn, checkIn.plusDays(3)));
+
+        assertThatThrownBy(() -> reservationService.createReservation(request(checkIn.plusDays(1), checkIn.plusDays(4))))
+                .isInstanceOf(BusinessException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reservation_rooms WHERE room_id = ?", Integer.class, roomId)).isEqualTo(1);
+    }
+
+    private ReservationRequest request(LocalDate checkIn, LocalDate checkOut) {
+        return new ReservationRequest(keycloakUserId, List.of(roomId), null, null, checkIn, checkOut, null);
+    }
+}
@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Throwaway local PostgreSQL for load tests, without Docker or Testcontainers.
+# Uses initdb, postgres and pg_ctl from PATH, or from $PG_BIN (PostgreSQL 15 or newer
+# with the contrib extensions, which provide btree_gist); psql is not needed.
+#
+#   ./postgres.sh start     create the cluster on first use, then start it
+#   ./postgres.sh stop
+#   ./postgres.sh status
+#   ./postgres.sh destroy   stop and delete the data directory
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+PGDATA_DIR=${PGDATA_DIR:-target/pgdata}
+PGPORT=${PGPORT:-55432}
+DB_NAME=hotelmanagement
+DB_USER=hoteluser
+DB_PASSWORD=hotelpass123
+
+pg() {
+    local tool=$1
+    shift
+    if [ -n "${PG_BIN:-}" ]; then
+        "$PG_BIN/$tool" "$@"
+    elif command -v "$tool" >/dev/null; then
+        "$tool" "$@"
+    else
+        echo "$tool not found; install PostgreSQL or set PG_BIN" >&2
+        exit 1
+    fi
+}
+
+# Runs statements, one per line, in single-user mode on the stopped cluster
+single() {
+    local database=$1
+    shift
+    local output
+    output=$(printf '%s\n' "$@" | pg postgres --single -D "$PGDATA_DIR" "$database" 2>&1)
+    if grep -q "ERROR:" <<<"$output"; then
+        echo "$output" >&2
+        exit 1
+    fi
+}
+
+start() {
+    if [ ! -f "$PGDATA_DIR/PG_VERSION" ]; then
+        mkdir -p "$PGDATA_DIR"
+        pg initdb -D "$PGDATA_DIR" -U postgres --auth=trust --encoding=UTF8 --locale=C >/dev/null
+        # Sized like a small production node; durability settings stay at their defaults
+        # so commit latency is realistic
+        cat >>"$PGDATA_DIR/postgresql.conf" <<EOF
+listen_addresses = 'localhost'
+port = $PGPORT
+max_connections = 200
+shared_buffers = 512MB
+effective_cache_size = 2GB
+work_mem = 16MB
+maintenance_work_mem = 256MB
+max_wal_size = 4GB
+EOF
+        single postgres "CREATE ROLE $DB_USER LOGIN PASSWORD '$DB_PASSWORD';" \
+            "CREATE DATABASE $DB_NAME OWNER $DB_USER;"
+        single "$DB_NAME" "CREATE EXTENSION IF NOT EXISTS btree_gist;"
+    fi
+
+    pg pg_ctl -D "$PGDATA_DIR" -l "$PGDATA_DIR/server.log" -w start
+    echo "jdbc:postgresql://localhost:$PGPORT/$DB_NAME (user $DB_USER, password $DB_PASSWORD)"
+}
+
+case "${1:-}" in
+    start) start ;;
+    stop) pg pg_ctl -D "$PGDATA_DIR" -m fast stop ;;
+    status) pg pg_ctl -D "$PGDATA_DIR" status ;;
+    destroy)
+        pg pg_ctl -D "$PGDATA_DIR" -m fast stop 2>/dev/null || true
+        rm -rf "$PGDATA_DIR"
+        ;;
+    *)
+        echo "usage: $0 start|stop|status|destroy" >&2
+        exit 2
+        ;;
+esac
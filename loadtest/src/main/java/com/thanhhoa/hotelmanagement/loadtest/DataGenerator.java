@@ -0,0 +1,473 @@
+package com.thanhhoa.hotelmanagement.loadtest;
+
+import com.thanhhoa.hotelmanagement.entity.PaymentStatus;
+import com.thanhhoa.hotelmanagement.entity.ReservationStatus;
+import com.thanhhoa.hotelmanagement.entity.RoomStatus;
+import org.flywaydb.core.Flyway;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Seeds a database with a reproducible hotel history: rooms, guests and
+ * {@code years} of reservations with their rooms, ordered services, payments
+ * and audit rows, continuing {@code horizon-days} into the future.
+ * <p>
+ * Each room gets its own random stream, derived from the seed and the room id,
+ * that lays out back-to-back stays with shorter gaps in the peak months (June
+ * to August and December). Every table is written in its own pass over those
+ * timelines, so nothing is held in memory and the same options always produce
+ * the same rows: reservation ids follow room order, payment ids equal their
+ * reservation's id, and guest Keycloak ids follow from the guest id, so the
+ * {@link WorkloadDriver} can address seeded guests without reading them back.
+ * <p>
+ * Rows are streamed with {@code COPY FROM STDIN} in one transaction, after the
+ * Flyway migrations have brought the schema up to date. Reference data (room
+ * types, services, staff and users) is kept; everything else is replaced. The
+ * room type inventory ledger is left empty for the application to rebuild at
+ * startup.
+ */
+final class DataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final String TRUNCATE = "TRUNCATE rooms, room_images, guests, reservations, reservation_rooms, "
+            + "reservation_staff, reservation_services, room_type_inventory, payments, invoices, invoice_details, "
+            + "audit_logs, outbox_events, idempotency_keys RESTART IDENTITY CASCADE";
+
+    private static final int ROOMS_PER_FLOOR = 40;
+    private static final int MAX_LEAD_DAYS = 90;
+    private static final String[] FIRST_NAMES = { "An", "Binh", "Chi", "Dung", "Giang", "Hoa", "Khanh", "Linh",
+            "Minh", "Nam", "Phuong", "Quang", "Thanh", "Trang", "Tuan", "Vy" };
+    private static final String[] LAST_NAMES = { "Nguyen", "Tran", "Le", "Pham", "Hoang", "Huynh", "Vo", "Dang",
+            "Bui", "Do" };
+    private static final String[] PAYMENT_METHODS = { "CASH", "CREDIT_CARD", "DEBIT_CARD", "BANK_TRANSFER",
+            "ONLINE_PAYMENT" };
+    private static final UUID FRONT_DESK_USER =
+            UUID.nameUUIDFromBytes("loadtest-front-desk".getBytes(StandardCharsets.UTF_8));
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int rooms;
+    private final int guests;
+    private final int years;
+    private final int horizonDays;
+    private final long seed;
+    private final LocalDate today = LocalDate.now();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private List<PricedItem> roomTypes;
+    private List<PricedItem> services;
+
+    DataGenerator(Options options) {
+        this.url = options.string("url", "jdbc:postgresql://localhost:55432/hotelmanagement");
+        this.user = options.string("user", "hoteluser");
+        this.password = options.string("password", "hotelpass123");
+        this.rooms = options.integer("rooms", 500);
+        this.guests = options.integer("guests", 20_000);
+        this.years = options.integer("years", 3);
+        this.horizonDays = options.integer("horizon-days", 180);
+        this.seed = options.longValue("seed", 42);
+    }
+
+    /** Keycloak user id of seeded guest {@code guestId}, 1-based. */
+    static UUID guestKeycloakId(long guestId) {
+        return UUID.nameUUIDFromBytes(("loadtest-guest-" + guestId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    void run() throws SQLException, IOException {
+        log.info("Migrating {}", url);
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                // As spring.flyway.postgresql.transactional-lock; V3 builds its indexes concurrently
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL synchronous_commit = off");
+                statement.execute(TRUNCATE);
+                roomTypes = pricedItems(statement,
+                        "SELECT id, price_per_night FROM room_types ORDER BY price_per_night, id");
+                services = pricedItems(statement, "SELECT id, price FROM services ORDER BY id");
+                createAuditPartitions(statement);
+            }
+            if (roomTypes.isEmpty()) {
+                throw new IllegalStateException("No room types; the V1 migration seeds the defaults");
+            }
+
+            copyRooms(connection);
+            copyGuests(connection);
+            copyReservations(connection);
+            copyReservationRooms(connection);
+            copyReservationServices(connection);
+            copyPayments(connection);
+            copyAuditLogs(connection);
+
+            try (Statement statement = connection.createStatement()) {
+                for (String table : List.of("rooms", "guests", "reservations", "reservation_services", "payments")) {
+                    // Ids were written explicitly; the next ones the application draws must come after them
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                            + "COALESCE(MAX(id), 0) + 1, false) FROM " + table);
+                }
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                log.info("Analyzing");
+                statement.execute("ANALYZE");
+            }
+        }
+    }
+
+    private void copyRooms(Connection connection) throws SQLException, IOException {
+        copy(connection, "rooms", "id, room_number, room_type_id, room_status, floor, note", out -> {
+            long count = 0;
+            for (long roomId = 1; roomId <= rooms; roomId++) {
+                RoomPlan plan = plan(roomId, 0);
+                long floor = (roomId - 1) / ROOMS_PER_FLOOR + 1;
+                long number = floor * 100 + (roomId - 1) % ROOMS_PER_FLOOR + 1;
+                row(out, roomId, number, plan.roomType().id(), roomStatus(plan), floor, null);
+                count++;
+            }
+            return count;
+        });
+    }
+
+    private void copyGuests(Connection connection) throws SQLException, IOException {
+        copy(connection, "guests", "id, full_name, email, phone, address, keycloak_user_id, created_at, updated_at",
+                out -> {
+                    for (long guestId = 1; guestId <= guests; guestId++) {
+                        SplittableRandom random = new SplittableRandom(seed ^ (guestId * 0x9E3779B97F4A7C15L));
+                        LocalDateTime createdAt = today.minusYears(years).minusDays(random.nextInt(365))
+                                .atTime(random.nextInt(24), random.nextInt(60));
+                        row(out, guestId,
+                                LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " "
+                                        + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                                "guest" + guestId + "@loadtest.example.com",
+                                String.format("09%08d", random.nextInt(100_000_000)),
+                                (1 + random.nextInt(500)) + " Le Loi, District " + (1 + random.nextInt(12)),
+                                guestKeycloakId(guestId), createdAt, createdAt);
+                    }
+                    return guests;
+                });
+    }
+
+    private void copyReservations(Connection connection) throws SQLException, IOException {
+        copy(connection, "reservations",
+                "id, guest_id, status, check_in, check_out, total_amount, created_at, updated_at",
+                out -> forEachStay(stay -> {
+                    row(out, stay.id(), stay.guestId(), stay.status().ordinal(), stay.checkIn(), stay.checkOut(),
+                            stay.amount(), stay.createdAt(), updatedAt(stay));
+                    return 1;
+                }));
+    }
+
+    private void copyReservationRooms(Connection connection) throws SQLException, IOException {
+        // The stay column is filled in by the trg_reservation_rooms_stay trigger
+        copy(connection, "reservation_rooms", "reservation_id, room_id", out -> forEachStay(stay -> {
+            row(out, stay.id(), stay.roomId());
+            return 1;
+        }));
+    }
+
+    private void copyReservationServices(Connection connection) throws SQLException, IOException {
+        copy(connection, "reservation_services", "id, reservation_id, service_id, quantity, total_price",
+                out -> forEachStay(stay -> {
+                    for (int i = 0; i < stay.services().size(); i++) {
+                        OrderedService service = stay.services().get(i);
+                        row(out, (stay.id() - 1) * 2 + i + 1, stay.id(), service.serviceId(), service.quantity(),
+                                service.totalPrice());
+                    }
+                    return stay.services().size();
+                }));
+    }
+
+    private void copyPayments(Connection connection) throws SQLException, IOException {
+        copy(connection, "payments", "id, reservation_id, status, amount, method, transaction_code, payment_date",
+                out -> forEachStay(stay -> {
+                    PaymentStatus status = paymentStatus(stay);
+                    if (status == null) {
+                        return 0;
+                    }
+                    row(out, stay.id(), stay.id(), status.ordinal(), stay.amount(), stay.paymentMethod(),
+                            "TXN" + stay.id(), paidAt(stay));
+                    return 1;
+                }));
+    }
+
+    private void copyAuditLogs(Connection connection) throws SQLException, IOException {
+        copy(connection, "audit_logs",
+                "user_id, user_role, action, entity, entity_id, description, status, ip_address, timestamp",
+                out -> forEachStay(stay -> {
+                    UUID guest = guestKeycloakId(stay.guestId());
+                    String ip = "10." + (stay.guestId() >> 16 & 255) + "." + (stay.guestId() >> 8 & 255) + "."
+                            + (stay.guestId() & 255);
+                    int rows = audit(out, guest, "ROLE_GUEST", "CREATE", "RESERVATION", stay.id(), ip,
+                            stay.createdAt());
+                    PaymentStatus payment = paymentStatus(stay);
+                    if (payment != null) {
+                        rows += audit(out, guest, "ROLE_GUEST", "CREATE", "PAYMENT", stay.id(), ip,
+                                paidAt(stay).minusMinutes(1));
+                        if (payment == PaymentStatus.COMPLETED) {
+                            rows += audit(out, guest, "ROLE_GUEST", "COMPLETE", "PAYMENT", stay.id(), ip, paidAt(stay));
+                        }
+                    }
+                    if (stay.status() == ReservationStatus.CHECKED_IN
+                            || stay.status() == ReservationStatus.CHECKED_OUT) {
+                        rows += audit(out, FRONT_DESK_USER, "ROLE_STAFF", "CHECK_IN", "RESERVATION", stay.id(),
+                                "10.255.0.1", stay.checkIn().atTime(14, 0));
+                    }
+                    return rows;
+                }));
+    }
+
+    private int audit(Writer out, UUID userId, String role, String action, String entity, long entityId, String ip,
+            LocalDateTime timestamp) throws IOException {
+        if (timestamp.isAfter(now)) {
+            return 0;
+        }
+        row(out, userId, role, action, entity, entityId, "Operation completed successfully", "SUCCESS", ip,
+                timestamp);
+        return 1;
+    }
+
+    private void createAuditPartitions(Statement statement) throws SQLException {
+        LocalDate month = today.minusYears(years).minusDays(MAX_LEAD_DAYS).withDayOfMonth(1);
+        while (!month.isAfter(today.plusMonths(3))) {
+            statement.execute("SELECT ensure_audit_log_partition(DATE '" + month + "')");
+            month = month.plusMonths(1);
+        }
+    }
+
+    /**
+     * The stays of one room, numbered from {@code firstReservationId}. Draws
+     * from the room's own stream in a fixed order, so every pass sees the same
+     * timeline.
+     */
+    private RoomPlan plan(long roomId, long firstReservationId) {
+        SplittableRandom random = new SplittableRandom(seed * 1_000_003L + roomId);
+        PricedItem roomType = roomType(random);
+        List<Stay> stays = new ArrayList<>();
+        LocalDate end = today.plusDays(horizonDays);
+        LocalDate checkIn = today.minusYears(years).plusDays(random.nextInt(7));
+        while (checkIn.isBefore(end)) {
+            int nights = 1 + random.nextInt(3) + (random.nextInt(4) == 0 ? random.nextInt(5) : 0);
+            LocalDate checkOut = checkIn.plusDays(nights);
+            stays.add(stay(firstReservationId + stays.size(), roomId, roomType, checkIn, checkOut, random));
+            checkIn = checkOut.plusDays(isPeak(checkOut) ? random.nextInt(3) : random.nextInt(9));
+        }
+        return new RoomPlan(roomType, stays);
+    }
+
+    private Stay stay(long id, long roomId, PricedItem roomType, LocalDate checkIn, LocalDate checkOut,
+            SplittableRandom random) {
+        ReservationStatus status = reservationStatus(checkIn, checkOut, random);
+        LocalDateTime createdAt = checkIn.minusDays(1 + random.nextInt(MAX_LEAD_DAYS))
+                .atTime(7 + random.nextInt(15), random.nextInt(60));
+        // Drawn whether or not it is used, so the time of day the seed runs at cannot shift the stream
+        int minutesAgo = 1 + random.nextInt(600);
+        if (createdAt.isAfter(now)) {
+            createdAt = now.minusMinutes(minutesAgo);
+        }
+
+        List<OrderedService> ordered = new ArrayList<>(2);
+        if (!services.isEmpty() && random.nextInt(10) < 3) {
+            int first = random.nextInt(services.size());
+            ordered.add(orderedService(services.get(first), random));
+            if (services.size() > 1 && random.nextBoolean()) {
+                int second = (first + 1 + random.nextInt(services.size() - 1)) % services.size();
+                ordered.add(orderedService(services.get(second), random));
+            }
+        }
+        BigDecimal amount = roomType.price().multiply(BigDecimal.valueOf(checkIn.until(checkOut).getDays()));
+        for (OrderedService service : ordered) {
+            amount = amount.add(service.totalPrice());
+        }
+
+        return new Stay(id, roomId, 1 + random.nextInt(guests), checkIn, checkOut, status, createdAt, amount,
+                ordered, PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]);
+    }
+
+    private ReservationStatus reservationStatus(LocalDate checkIn, LocalDate checkOut, SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (!checkOut.isAfter(today)) {
+            return roll < 8 ? ReservationStatus.CANCELLED : ReservationStatus.CHECKED_OUT;
+        }
+        if (checkIn.isBefore(today)) {
+            return ReservationStatus.CHECKED_IN;
+        }
+        if (checkIn.isEqual(today)) {
+            // Today's arrivals, waiting at the front desk
+            return ReservationStatus.CONFIRMED;
+        }
+        return roll < 8 ? ReservationStatus.CANCELLED
+                : roll < 23 ? ReservationStatus.PENDING
+                : ReservationStatus.CONFIRMED;
+    }
+
+    private OrderedService orderedService(PricedItem service, SplittableRandom random) {
+        int quantity = 1 + random.nextInt(3);
+        return new OrderedService(service.id(), quantity, service.price().multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    /** Cheaper room types are more common: each type is half as likely as the one before. */
+    private PricedItem roomType(SplittableRandom random) {
+        int total = 0;
+        for (int i = 0; i < roomTypes.size(); i++) {
+            total += weight(i);
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < roomTypes.size(); i++) {
+            roll -= weight(i);
+            if (roll < 0) {
+                return roomTypes.get(i);
+            }
+        }
+        return roomTypes.get(roomTypes.size() - 1);
+    }
+
+    private static int weight(int index) {
+        return Math.max(1, 64 >> index);
+    }
+
+    private static boolean isPeak(LocalDate night) {
+        Month month = night.getMonth();
+        return month == Month.JUNE || month == Month.JULY || month == Month.AUGUST || month == Month.DECEMBER;
+    }
+
+    private static String roomStatus(RoomPlan plan) {
+        boolean occupied = plan.stays().stream().anyMatch(stay -> stay.status() == ReservationStatus.CHECKED_IN);
+        return (occupied ? RoomStatus.OCCUPIED : RoomStatus.AVAILABLE).name();
+    }
+
+    private static PaymentStatus paymentStatus(Stay stay) {
+        return switch (stay.status()) {
+            case PENDING -> null;
+            case CANCELLED -> PaymentStatus.REFUNDED;
+            default -> PaymentStatus.COMPLETED;
+        };
+    }
+
+    private static LocalDateTime paidAt(Stay stay) {
+        return stay.createdAt().plusMinutes(5 + stay.id() % 55);
+    }
+
+    private LocalDateTime updatedAt(Stay stay) {
+        LocalDateTime updatedAt = switch (stay.status()) {
+            case CHECKED_OUT -> stay.checkOut().atTime(11, 0);
+            case CHECKED_IN -> stay.checkIn().atTime(14, 0);
+            case PENDING -> stay.createdAt();
+            default -> paidAt(stay);
+        };
+        return updatedAt.isAfter(now) ? now : updatedAt;
+    }
+
+    private long forEachStay(StayWriter writer) throws IOException {
+        long rows = 0;
+        long nextReservationId = 1;
+        for (long roomId = 1; roomId <= rooms; roomId++) {
+            RoomPlan plan = plan(roomId, nextReservationId);
+            nextReservationId += plan.stays().size();
+            for (Stay stay : plan.stays()) {
+                rows += writer.write(stay);
+            }
+        }
+        return rows;
+    }
+
+    private static List<PricedItem> pricedItems(Statement statement, String sql) throws SQLException {
+        List<PricedItem> items = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                items.add(new PricedItem(resultSet.getLong(1), resultSet.getBigDecimal(2)));
+            }
+        }
+        return items;
+    }
+
+    private static void copy(Connection connection, String table, String columns, TableWriter writer)
+            throws SQLException, IOException {
+        long started = System.nanoTime();
+        long rows;
+        PGCopyOutputStream stream = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+                "COPY " + table + " (" + columns + ") FROM STDIN (FORMAT csv)", 1 << 16);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16)) {
+            rows = writer.write(out);
+        }
+        log.info("{}: {} rows in {} ms", table, rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** Writes one CSV line; nulls become empty fields, which COPY reads as NULL. */
+    private static void row(Writer out, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.isEmpty()) {
+                out.write('"');
+                out.write(text.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(text);
+            }
+        }
+        out.write('\n');
+    }
+
+    @FunctionalInterface
+    private interface TableWriter {
+        long write(Writer out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface StayWriter {
+        int write(Stay stay) throws IOException;
+    }
+
+    private record PricedItem(long id, BigDecimal price) {
+    }
+
+    private record OrderedService(long serviceId, int quantity, BigDecimal totalPrice) {
+    }
+
+    private record RoomPlan(PricedItem roomType, List<Stay> stays) {
+    }
+
+    private record Stay(long id, long roomId, long guestId, LocalDate checkIn, LocalDate checkOut,
+            ReservationStatus status, LocalDateTime createdAt, BigDecimal amount, List<OrderedService> services,
+            String paymentMethod) {
+    }
+}
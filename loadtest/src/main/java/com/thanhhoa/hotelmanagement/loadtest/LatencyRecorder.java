@@ -0,0 +1,70 @@
+package com.thanhhoa.hotelmanagement.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Response times and outcomes of one endpoint. Each worker thread records into
+ * its own instance; they are merged once the run is over, so recording takes
+ * no locks. Every sample is kept, which makes the percentiles exact: a
+ * ten-minute run at 5,000 requests per second needs about 24 MB.
+ */
+final class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private long clientErrors;
+    private long serverErrors;
+
+    void record(long elapsedNanos, int status) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+        if (status >= 500) {
+            serverErrors++;
+        } else if (status >= 400) {
+            clientErrors++;
+        }
+    }
+
+    /** A request that got no response at all; counted with the server errors. */
+    void recordFailure() {
+        serverErrors++;
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > nanos.length) {
+            nanos = Arrays.copyOf(nanos, count + other.count);
+        }
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        clientErrors += other.clientErrors;
+        serverErrors += other.serverErrors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long clientErrors() {
+        return clientErrors;
+    }
+
+    long serverErrors() {
+        return serverErrors;
+    }
+
+    /** Sorts the samples; call once, after the last merge and before {@link #percentileMillis}. */
+    void seal() {
+        Arrays.sort(nanos, 0, count);
+    }
+
+    /** Nearest-rank percentile in milliseconds, {@code percentile} in (0, 100]. */
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return nanos[Math.max(0, Math.min(count, rank) - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.thanhhoa.hotelmanagement.loadtest;
+
+/**
+ * Entry point of the load-test jar.
+ * <pre>
+ * java -jar target/loadtest.jar seed  [--url jdbc:postgresql://...] [--rooms 500] [--guests 20000] [--years 3]
+ * java -jar target/loadtest.jar drive [--base-url http://localhost:8080] [--threads 32] [--duration-seconds 120]
+ *                                     [--mix search=60,book=20,pay=10,checkin=10]
+ * </pre>
+ * See {@link DataGenerator} and {@link WorkloadDriver} for every option.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("usage: loadtest seed|drive [--name value ...]");
+            System.exit(2);
+        }
+        Options options = new Options(args, 1);
+        switch (args[0]) {
+            case "seed" -> {
+                DataGenerator generator = new DataGenerator(options);
+                options.checkAllUsed();
+                generator.run();
+            }
+            case "drive" -> {
+                WorkloadDriver driver = new WorkloadDriver(options);
+                options.checkAllUsed();
+                driver.run();
+            }
+            default -> {
+                System.err.println("Unknown command: " + args[0]);
+                System.exit(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.thanhhoa.hotelmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives the API with a closed-loop mix of front-desk operations and reports
+ * throughput and p50/p99/p99.9 latency per endpoint.
+ * <p>
+ * Each of {@code threads} workers picks an operation by the weights in
+ * {@code mix} and sends the next request as soon as the previous one returns:
+ * <ul>
+ * <li>{@code search}: availability for a random stay in the next four months</li>
+ * <li>{@code book}: one random seeded room for a random seeded guest; a third
+ * of the bookings arrive today</li>
+ * <li>{@code pay}: creates and completes a payment for a booking made by the
+ * driver, which confirms it</li>
+ * <li>{@code checkin}: checks in a confirmed booking that arrives today</li>
+ * </ul>
+ * Payments and check-ins work on bookings the driver made itself; while there
+ * are none to work on, the worker searches instead, so the reported counts are
+ * the mix that actually ran. Rooms and guests are addressed by the ids the
+ * {@link DataGenerator} assigns, so {@code rooms} and {@code guests} must match
+ * the seed run. Requests during the first {@code warmup-seconds} are sent but
+ * not reported.
+ */
+final class WorkloadDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadDriver.class);
+
+    private static final String SEARCH = "GET /api/rooms/available";
+    private static final String BOOK = "POST /api/reservations";
+    private static final String CREATE_PAYMENT = "POST /api/payments";
+    private static final String COMPLETE_PAYMENT = "PATCH /api/payments/{id}/complete";
+    private static final String CHECK_IN = "PATCH /api/reservations/{id}/check-in";
+    private static final List<String> ENDPOINTS = List.of(SEARCH, BOOK, CREATE_PAYMENT, COMPLETE_PAYMENT, CHECK_IN);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private enum Operation {
+        SEARCH, BOOK, PAY, CHECKIN
+    }
+
+    private final String baseUrl;
+    private final int threads;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int rooms;
+    private final int guests;
+    private final long seed;
+    private final Map<Operation, Integer> mix;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Queue<Booking> unpaid = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> arrivals = new ConcurrentLinkedQueue<>();
+
+    WorkloadDriver(Options options) {
+        this.baseUrl = options.string("base-url", "http://localhost:8080");
+        this.threads = options.integer("threads", 32);
+        this.durationSeconds = options.integer("duration-seconds", 120);
+        this.warmupSeconds = options.integer("warmup-seconds", 30);
+        this.rooms = options.integer("rooms", 500);
+        this.guests = options.integer("guests", 20_000);
+        this.seed = options.longValue("seed", 42);
+        this.mix = parseMix(options.string("mix", "search=60,book=20,pay=10,checkin=10"));
+    }
+
+    void run() throws InterruptedException, ExecutionException {
+        log.info("Driving {} with {} threads for {} s after {} s of warm-up, mix {}", baseUrl, threads,
+                durationSeconds, warmupSeconds, mix);
+        long measureFrom = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + durationSeconds * 1_000_000_000L;
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        List<Future<Map<String, LatencyRecorder>>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            SplittableRandom random = new SplittableRandom(seed * 31 + i);
+            results.add(workers.submit(() -> work(random, measureFrom, end)));
+        }
+        workers.shutdown();
+
+        Map<String, LatencyRecorder> merged = new LinkedHashMap<>();
+        ENDPOINTS.forEach(endpoint -> merged.put(endpoint, new LatencyRecorder()));
+        for (Future<Map<String, LatencyRecorder>> result : results) {
+            result.get().forEach((endpoint, recorder) -> merged.get(endpoint).merge(recorder));
+        }
+        report(merged);
+    }
+
+    private Map<String, LatencyRecorder> work(SplittableRandom random, long measureFrom, long end)
+            throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        ENDPOINTS.forEach(endpoint -> recorders.put(endpoint, new LatencyRecorder()));
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Worker worker = new Worker(random, recorders, now >= measureFrom);
+            switch (pick(random)) {
+                case SEARCH -> worker.search();
+                case BOOK -> worker.book();
+                case PAY -> worker.pay();
+                case CHECKIN -> worker.checkIn();
+            }
+        }
+        return recorders;
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.SEARCH;
+    }
+
+    /** One operation of one worker thread. */
+    private final class Worker {
+
+        private final SplittableRandom random;
+        private final Map<String, LatencyRecorder> recorders;
+        private final boolean measured;
+
+        Worker(SplittableRandom random, Map<String, LatencyRecorder> recorders, boolean measured) {
+            this.random = random;
+            this.recorders = recorders;
+            this.measured = measured;
+        }
+
+        void search() throws InterruptedException {
+            LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(120));
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(7));
+            send(SEARCH, request("/api/rooms/available?checkIn=" + checkIn + "&checkOut=" + checkOut).GET());
+        }
+
+        void book() throws InterruptedException {
+            boolean arrivesToday = random.nextInt(3) == 0;
+            LocalDate checkIn = LocalDate.now().plusDays(arrivesToday ? 0 : 1 + random.nextInt(150));
+            int nights = 1 + random.nextInt(5);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("keycloakUserId", DataGenerator.guestKeycloakId(1 + random.nextInt(guests)).toString());
+            body.put("roomIds", List.of(1 + random.nextInt(rooms)));
+            body.put("checkIn", checkIn.toString());
+            body.put("checkOut", checkIn.plusDays(nights).toString());
+            body.put("status", "PENDING");
+
+            JsonNode created = send(BOOK, request("/api/reservations").POST(json(body)));
+            if (created != null) {
+                unpaid.add(new Booking(created.path("data").path("id").asLong(), nights, arrivesToday));
+            }
+        }
+
+        void pay() throws InterruptedException {
+            Booking booking = unpaid.poll();
+            if (booking == null) {
+                search();
+                return;
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("reservationId", booking.reservationId());
+            body.put("amount", 80 * booking.nights());
+            body.put("method", "CREDIT_CARD");
+            body.put("status", "PENDING");
+
+            JsonNode payment = send(CREATE_PAYMENT, request("/api/payments")
+                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                    .POST(json(body)));
+            if (payment == null) {
+                return;
+            }
+            long paymentId = payment.path("data").path("id").asLong();
+            JsonNode completed = send(COMPLETE_PAYMENT, request("/api/payments/" + paymentId + "/complete")
+                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+            if (completed != null && booking.arrivesToday()) {
+                arrivals.add(booking.reservationId());
+            }
+        }
+
+        void checkIn() throws InterruptedException {
+            Long reservationId = arrivals.poll();
+            if (reservationId == null) {
+                search();
+                return;
+            }
+            send(CHECK_IN, request("/api/reservations/" + reservationId + "/check-in")
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+        }
+
+        /** Sends the request and returns the parsed body of a 2xx response, or null. */
+        private JsonNode send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+            long started = System.nanoTime();
+            HttpResponse<byte[]> response;
+            try {
+                response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                if (measured) {
+                    recorders.get(endpoint).recordFailure();
+                }
+                log.debug("{} failed", endpoint, e);
+                return null;
+            }
+            if (measured) {
+                recorders.get(endpoint).record(System.nanoTime() - started, response.statusCode());
+            }
+            if (response.statusCode() / 100 != 2) {
+                return null;
+            }
+            try {
+                return objectMapper.readTree(response.body());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable response from " + endpoint, e);
+            }
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, Object> body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void report(Map<String, LatencyRecorder> recorders) {
+        System.out.printf(Locale.ROOT, "%n%-38s %9s %9s %7s %7s %9s %9s %9s %9s%n", "Endpoint", "Requests",
+                "Req/s", "4xx", "5xx/io", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        LatencyRecorder total = new LatencyRecorder();
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            total.merge(entry.getValue());
+            printRow(entry.getKey(), entry.getValue());
+        }
+        printRow("Total", total);
+    }
+
+    private void printRow(String endpoint, LatencyRecorder recorder) {
+        recorder.seal();
+        System.out.printf(Locale.ROOT, "%-38s %9d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f%n", endpoint,
+                recorder.count(), (double) recorder.count() / durationSeconds, recorder.clientErrors(),
+                recorder.serverErrors(), recorder.percentileMillis(50), recorder.percentileMillis(99),
+                recorder.percentileMillis(99.9), recorder.percentileMillis(100));
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in mix, got: " + part);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        return weights;
+    }
+
+    private record Booking(long reservationId, int nights, boolean arrivesToday) {
+    }
+}
@@ -0,0 +1,98 @@
+#!/usr/bin/env bash
+# Compares request concurrency on Tomcat's platform thread pool with virtual threads.
+#
+# For each thread mode and booking pool size, reseeds the database, starts the
+# application, and drives it at each concurrency level in turn. Prints one
+# summary row per run. Needs ./postgres.sh start, target/loadtest.jar,
+# and a Java 21 or newer runtime for the virtual mode.
+#
+#   MODES="platform virtual" POOL_SIZES="10 20" CONCURRENCY="100 200 400 800 1600" ./thread-modes.sh
+#
+# The hypothesis under test: with the default 200 Tomcat threads, platform mode stops
+# gaining throughput past 200 concurrent clients, and the extra clients wait in the accept
+# queue, while virtual mode keeps accepting them until the pool, not the request thread
+# count, is the bottleneck. Keep the database on another machine, or the runs measure CPU
+# contention instead. The app log records pinned virtual threads
+# (jdk.tracePinnedThreads), and the pinned column counts them since the app started.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+JAVA=${JAVA:-java}
+APP_JAR=${APP_JAR:-$(ls ../hotelmanagement/target/*-exec.jar | head -n 1)}
+PGPORT=${PGPORT:-55432}
+APP_PORT=${APP_PORT:-8081}
+MODES=${MODES:-platform virtual}
+POOL_SIZES=${POOL_SIZES:-10 20}
+CONCURRENCY=${CONCURRENCY:-100 200 400 800 1600}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+MIX=${MIX:-search=60,book=20,pay=10,checkin=10}
+ROOMS=${ROOMS:-500}
+GUESTS=${GUESTS:-20000}
+LOG_DIR=target/thread-modes
+DB_URL="jdbc:postgresql://localhost:$PGPORT/hotelmanagement"
+
+mkdir -p "$LOG_DIR"
+app_pid=
+
+stop_app() {
+    if [ -n "$app_pid" ]; then
+        kill "$app_pid" 2>/dev/null || true
+        wait "$app_pid" 2>/dev/null || true
+        app_pid=
+    fi
+}
+trap stop_app EXIT
+
+wait_for_app() {
+    for _ in $(seq 1 120); do
+        if curl -fs "http://localhost:$APP_PORT/actuator/health" >/dev/null; then
+            return 0
+        fi
+        if ! kill -0 "$app_pid" 2>/dev/null; then
+            echo "application exited, see $1" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+    echo "application did not become healthy, see $1" >&2
+    exit 1
+}
+
+printf '%-9s %5s %8s %10s %8s %8s %9s %7s %7s\n' \
+    mode pool clients "req/s" "p50 ms" "p99 ms" "p99.9 ms" errors pinned
+
+for mode in $MODES; do
+    virtual=false
+    if [ "$mode" = virtual ]; then
+        virtual=true
+    fi
+    for pool in $POOL_SIZES; do
+        app_log="$LOG_DIR/app-$mode-$pool.log"
+        "$JAVA" -jar target/loadtest.jar seed --url "$DB_URL" --rooms "$ROOMS" --guests "$GUESTS" \
+            >"$LOG_DIR/seed-$mode-$pool.log" 2>&1
+
+        SPRING_PROFILES_ACTIVE=prod \
+        SERVER_PORT=$APP_PORT \
+        SPRING_DATASOURCE_URL=$DB_URL \
+        HOTEL_DATASOURCE_BOOKING_MAXIMUM_POOL_SIZE=$pool \
+        SPRING_THREADS_VIRTUAL_ENABLED=$virtual \
+            "$JAVA" -Djdk.tracePinnedThreads=short -jar "$APP_JAR" >"$app_log" 2>&1 &
+        app_pid=$!
+        wait_for_app "$app_log"
+
+        for clients in $CONCURRENCY; do
+            report="$LOG_DIR/drive-$mode-$pool-$clients.txt"
+            "$JAVA" -jar target/loadtest.jar drive --base-url "http://localhost:$APP_PORT" \
+                --threads "$clients" --duration-seconds "$DURATION" --warmup-seconds "$WARMUP" \
+                --rooms "$ROOMS" --guests "$GUESTS" --mix "$MIX" >"$report" 2>&1
+            pinned=$(grep -c "<== monitors" "$app_log" || true)
+            # Total  requests  req/s  4xx  5xx/io  p50  p99  p99.9  max
+            awk -v mode="$mode" -v pool="$pool" -v clients="$clients" -v pinned="$pinned" \
+                '$1 == "Total" { printf "%-9s %5s %8s %10s %8s %8s %9s %7d %7s\n",
+                    mode, pool, clients, $3, $6, $7, $8, $4 + $5, pinned }' "$report"
+        done
+        stop_app
+    done
+done